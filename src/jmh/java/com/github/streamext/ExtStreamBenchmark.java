@@ -0,0 +1,105 @@
+package com.github.streamext;
+
+import com.github.streamext.extensions.StreamExtOps;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Cost of a chain of throwing stages fused by {@link ExtStream}, compared with the same chain
+ * of {@link StreamExtOps} operations, which has a pipeline stage and a wrapper per operation.
+ * The functions of the chain differ, so the call sites in the wrappers become megamorphic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtStreamBenchmark {
+    @Param({"0", "1"})
+    int failurePercent;
+
+    List<String> input;
+
+    @Setup
+    public void setup() {
+        input = IntStream.range(0, 10_000)
+                .mapToObj(i -> i % 100 < failurePercent ? "x" + i : String.valueOf(i))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public long ops() {
+        Stream<Integer> parsed = StreamExtOps.mapE(input.stream(), ExtStreamBenchmark::parse, (s, e) -> -1);
+        Stream<Integer> filtered = StreamExtOps.filterE(parsed, i -> check(i), (i, e) -> false);
+        Stream<Integer> scaled = StreamExtOps.mapE(filtered, i -> scale(i), (i, e) -> 0);
+        return StreamExtOps.mapE(scaled, i -> i + 1).mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long extStream() {
+        return ExtStream.of(input.stream())
+                .mapE(ExtStreamBenchmark::parse, (s, e) -> -1)
+                .filterE(i -> check(i), (i, e) -> false)
+                .mapE(i -> scale(i), (i, e) -> 0)
+                .mapE(i -> i + 1)
+                .mapToLong(Integer::longValue)
+                .sum();
+    }
+
+    @Benchmark
+    public long raw() {
+        return input.stream()
+                .mapMulti((String s, Consumer<Integer> downstream) -> {
+                    Integer i;
+                    try {
+                        i = parse(s);
+                    } catch (ParseException e) {
+                        i = -1;
+                    }
+                    try {
+                        if (!check(i)) {
+                            return;
+                        }
+                    } catch (ParseException e) {
+                        return;
+                    }
+                    try {
+                        i = scale(i);
+                    } catch (ParseException e) {
+                        i = 0;
+                    }
+                    downstream.accept(i + 1);
+                })
+                .mapToLong(Integer::longValue)
+                .sum();
+    }
+
+    static Integer parse(String s) throws ParseException {
+        if (s.charAt(0) == 'x') {
+            throw new ParseException(s, 0);
+        }
+        return Integer.valueOf(s);
+    }
+
+    static boolean check(Integer i) throws ParseException {
+        if (i == Integer.MIN_VALUE) {
+            throw new ParseException(String.valueOf(i), 0);
+        }
+        return i % 3 != 0;
+    }
+
+    static Integer scale(Integer i) throws ParseException {
+        if (i == Integer.MAX_VALUE) {
+            throw new ParseException(String.valueOf(i), 0);
+        }
+        return i * 2;
+    }
+}
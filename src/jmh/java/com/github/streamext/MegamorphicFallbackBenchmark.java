@@ -0,0 +1,67 @@
+package com.github.streamext;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of the {@link StreamExt#fallback(ThrowableFunctionExt, java.util.function.BiFunction)} wrapper
+ * when many different lambdas go through it, so the call site of the wrapped function
+ * inside the wrapper becomes megamorphic, compared with the hand-written try/catch lambdas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MegamorphicFallbackBenchmark {
+    @Param({"1", "2", "8"})
+    int lambdas;
+
+    List<Integer> input;
+    List<Function<Integer, Integer>> wrapped;
+    List<Function<Integer, Integer>> raw;
+
+    @Setup
+    public void setup() {
+        input = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+        List<ThrowableFunctionExt<Integer, Integer, Exception>> functions = List.of(
+                i -> i + 1, i -> i + 2, i -> i * 3, i -> i ^ 4,
+                i -> i - 5, i -> i | 6, i -> i & 7, i -> i << 1);
+        wrapped = functions.subList(0, lambdas).stream()
+                .map(f -> StreamExt.fallback(f, (i, e) -> -1))
+                .collect(Collectors.toList());
+        raw = functions.subList(0, lambdas).stream()
+                .<Function<Integer, Integer>>map(f -> i -> {
+                    try {
+                        return f.apply(i);
+                    } catch (Exception e) {
+                        return -1;
+                    }
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public long fallback() {
+        return sum(wrapped);
+    }
+
+    @Benchmark
+    public long raw() {
+        return sum(raw);
+    }
+
+    private long sum(List<Function<Integer, Integer>> functions) {
+        long sum = 0;
+        for (Function<Integer, Integer> function : functions) {
+            sum += input.stream().map(function).mapToLong(Integer::longValue).sum();
+        }
+        return sum;
+    }
+}
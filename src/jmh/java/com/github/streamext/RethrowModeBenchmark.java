@@ -0,0 +1,58 @@
+package com.github.streamext;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput of {@link StreamExt#rethrow(ThrowableFunctionExt, RethrowMode)} on a stream
+ * with a high failure rate. Each failed element is re-thrown and caught per element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RethrowModeBenchmark {
+    @Param({"5", "20"})
+    int failurePercent;
+
+    @Param({"STACK_TRACE", "STACKLESS", "LIGHTWEIGHT"})
+    RethrowMode mode;
+
+    List<String> input;
+    Function<String, Integer> parser;
+
+    @Setup
+    public void setup() {
+        input = IntStream.range(0, 10_000)
+                .mapToObj(i -> i % 100 < failurePercent ? "x" + i : String.valueOf(i))
+                .collect(Collectors.toList());
+        parser = StreamExt.rethrow(RethrowModeBenchmark::parse, mode);
+    }
+
+    @Benchmark
+    public long parseAll() {
+        return input.stream()
+                .mapToLong(s -> {
+                    try {
+                        return parser.apply(s);
+                    } catch (FunctionExecutionException e) {
+                        return -1;
+                    }
+                })
+                .sum();
+    }
+
+    private static Integer parse(String s) throws java.text.ParseException {
+        if (s.charAt(0) == 'x') {
+            throw new java.text.ParseException(s, 0);
+        }
+        return Integer.valueOf(s);
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.streamext.extensions;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Cost of the {@link StreamExtOps} operations compared with the hand-written try/catch lambdas,
+ * on sequential and parallel streams with 0%, 1% and 50% of the elements failing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamExtOpsBenchmark {
+    @Param({"0", "1", "50"})
+    int failurePercent;
+
+    @Param({"false", "true"})
+    boolean parallel;
+
+    List<String> input;
+
+    @Setup
+    public void setup() {
+        input = IntStream.range(0, 10_000)
+                .mapToObj(i -> i % 100 < failurePercent ? "x" + i : String.valueOf(i))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public long map_raw() {
+        return stream()
+                .map(s -> {
+                    try {
+                        return parse(s);
+                    } catch (ParseException e) {
+                        return -1;
+                    }
+                })
+                .mapToLong(Integer::longValue)
+                .sum();
+    }
+
+    @Benchmark
+    public long map_mapE() {
+        return StreamExtOps.mapE(stream(), StreamExtOpsBenchmark::parse, (s, e) -> -1)
+                .mapToLong(Integer::longValue)
+                .sum();
+    }
+
+    @Benchmark
+    public long filter_raw() {
+        return stream()
+                .filter(s -> {
+                    try {
+                        return parse(s) % 2 == 0;
+                    } catch (ParseException e) {
+                        return false;
+                    }
+                })
+                .count();
+    }
+
+    @Benchmark
+    public long filter_filterE() {
+        return StreamExtOps.filterE(stream(), s -> parse(s) % 2 == 0, (s, e) -> false)
+                .count();
+    }
+
+    @Benchmark
+    public long flatMap_raw() {
+        return stream()
+                .flatMap(s -> {
+                    try {
+                        return Stream.of(parse(s));
+                    } catch (ParseException e) {
+                        return Stream.empty();
+                    }
+                })
+                .mapToLong(Integer::longValue)
+                .sum();
+    }
+
+    @Benchmark
+    public long flatMap_flatMapQuiet() {
+        return StreamExtOps.flatMapQuiet(stream(), s -> Stream.of(parse(s)))
+                .mapToLong(Integer::longValue)
+                .sum();
+    }
+
+    @Benchmark
+    public void forEach_raw(Blackhole blackhole) {
+        stream().forEach(s -> {
+            try {
+                blackhole.consume(parse(s));
+            } catch (ParseException e) {
+                blackhole.consume(e);
+            }
+        });
+    }
+
+    @Benchmark
+    public void forEach_forEachE(Blackhole blackhole) {
+        StreamExtOps.forEachE(stream(), s -> blackhole.consume(parse(s)), (s, e) -> blackhole.consume(e));
+    }
+
+    private Stream<String> stream() {
+        return parallel ? input.parallelStream() : input.stream();
+    }
+
+    static Integer parse(String s) throws ParseException {
+        if (s.charAt(0) == 'x') {
+            throw new ParseException(s, 0);
+        }
+        return Integer.valueOf(s);
+    }
+}
@@ -0,0 +1,148 @@
+package com.github.streamext;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * {@link Flow.Publisher} of the results of an asynchronous mapper applied to the elements of a stream,
+ * in encounter order.
+ *
+ * <p>
+ *  An element is pulled from the stream and mapped only when a result is requested and less than
+ *  {@code maxInFlight} calls are in flight, so neither the elements nor the results are buffered
+ *  beyond the demand. A failed call, thrown by the mapper or completing its stage exceptionally,
+ *  is emitted as the result of the fallback function, or terminates the subscription by {@code onError}
+ *  without one.
+ *
+ * @param <T> the type of the source elements
+ * @param <R> the type of the results
+ */
+final class AsyncMapPublisher<T, R> implements Flow.Publisher<R> {
+    private final Stream<T> stream;
+    private final ThrowableFunctionExt<T, ? extends CompletionStage<R>, ?> mapper;
+    private final int maxInFlight;
+    private final BiFunction<T, Exception, R> fallbackFunction;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    AsyncMapPublisher(Stream<T> stream, ThrowableFunctionExt<T, ? extends CompletionStage<R>, ?> mapper, int maxInFlight,
+                      BiFunction<T, Exception, R> fallbackFunction, Executor executor) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.stream = Objects.requireNonNull(stream);
+        this.mapper = Objects.requireNonNull(mapper);
+        this.maxInFlight = maxInFlight;
+        this.fallbackFunction = fallbackFunction;
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            StreamPublisher.rejectSubscriber(subscriber);
+            return;
+        }
+        new Mapping(subscriber).start();
+    }
+
+    private final class Mapping extends StreamSubscription<R> {
+        private final ArrayDeque<Call> inFlight = new ArrayDeque<>();
+        private Spliterator<T> spliterator;
+        private boolean exhausted;
+
+        Mapping(Flow.Subscriber<? super R> subscriber) {
+            super(subscriber, executor);
+        }
+
+        @Override
+        void drain() {
+            if (spliterator == null) {
+                spliterator = stream.spliterator();
+            }
+            for (;;) {
+                while (hasDemand() && !inFlight.isEmpty() && inFlight.peekFirst().done) {
+                    if (!emitResult(inFlight.pollFirst())) {
+                        return;
+                    }
+                }
+                if (exhausted || inFlight.size() >= maxInFlight || inFlight.size() >= demand()) {
+                    break;
+                }
+                exhausted = !spliterator.tryAdvance(this::call);
+            }
+            if (exhausted && inFlight.isEmpty()) {
+                complete();
+            }
+        }
+
+        private void call(T t) {
+            var call = new Call(t);
+            inFlight.addLast(call);
+            CompletionStage<R> stage;
+            try {
+                stage = Objects.requireNonNull(mapper.apply(t), "the mapper returned null");
+            } catch (Exception e) {
+                call.complete(null, e);
+                return;
+            }
+            stage.whenComplete((value, error) -> {
+                call.complete(value, error);
+                signal();
+            });
+        }
+
+        /**
+         * emits the result of the call, or terminates by its failure
+         * @return {@code false} if terminated
+         */
+        private boolean emitResult(Call call) {
+            R value = call.value;
+            Throwable error = unwrap(call.error);
+            if (call.error != null) {
+                if (fallbackFunction == null || !(error instanceof Exception exception)) {
+                    fail(error);
+                    return false;
+                }
+                StreamExtElementFailed.emit(mapper, exception);
+                value = fallbackFunction.apply(call.element, exception);
+            }
+            emit(Objects.requireNonNull(value, "the result is null"));
+            return true;
+        }
+
+        @Override
+        void release() {
+            inFlight.clear();
+            stream.close();
+        }
+    }
+
+    /**
+     * a call of the mapper in flight, completed by the thread of its stage
+     */
+    private final class Call {
+        final T element;
+        R value;
+        Throwable error;
+        volatile boolean done;
+
+        Call(T element) {
+            this.element = element;
+        }
+
+        void complete(R value, Throwable error) {
+            this.value = value;
+            this.error = error;
+            done = true;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.streamext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link Spliterator} which groups the source elements into batches lazily,
+ * applies a bulk mapper once per batch and flattens the results in order.
+ *
+ * <p>
+ *  A batch is closed when it has {@code batchSize} elements, or when {@code maxDelay}
+ *  has elapsed since its first element was pulled. The delay is checked between
+ *  the pulls, so a blocking source is not interrupted.
+ *  When split, each half batches its own elements.
+ *
+ * @param <T> the type of the source elements
+ * @param <R> the type of the mapped elements
+ */
+final class BatchingSpliterator<T, R> implements Spliterator<R> {
+    private final Spliterator<T> source;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final Function<List<T>, List<R>> bulkMapper;
+    private List<R> results = Collections.emptyList();
+    private int index;
+
+    BatchingSpliterator(Spliterator<T> source, int batchSize, long maxDelayNanos, Function<List<T>, List<R>> bulkMapper) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        if (maxDelayNanos <= 0) {
+            throw new IllegalArgumentException("maxDelay must be positive: " + maxDelayNanos + "ns");
+        }
+        this.source = source;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelayNanos;
+        this.bulkMapper = bulkMapper;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        if (index >= results.size() && !nextBatch()) {
+            return false;
+        }
+        action.accept(results.get(index++));
+        return true;
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        if (index < results.size()) {
+            // the buffered results precede the rest of the source
+            return null;
+        }
+        Spliterator<T> prefix = source.trySplit();
+        return prefix == null ? null : new BatchingSpliterator<>(prefix, batchSize, maxDelayNanos, bulkMapper);
+    }
+
+    @Override
+    public long estimateSize() {
+        long size = source.estimateSize() + (results.size() - index);
+        return size < 0 ? Long.MAX_VALUE : size;
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & ORDERED;
+    }
+
+    private boolean nextBatch() {
+        var batch = new ArrayList<T>((int) Math.min(batchSize, Math.max(1, source.estimateSize())));
+        long start = System.nanoTime();
+        while (batch.size() < batchSize && source.tryAdvance(batch::add)) {
+            if (System.nanoTime() - start >= maxDelayNanos) {
+                break;
+            }
+        }
+        if (batch.isEmpty()) {
+            return false;
+        }
+        List<R> mapped = bulkMapper.apply(batch);
+        if (mapped == null || mapped.size() != batch.size()) {
+            throw new IllegalStateException("bulk mapper returned " + (mapped == null ? "null" : mapped.size() + " results")
+                    + " for a batch of " + batch.size());
+        }
+        results = mapped;
+        index = 0;
+        return true;
+    }
+}
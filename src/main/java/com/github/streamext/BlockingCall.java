@@ -0,0 +1,66 @@
+package com.github.streamext;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * a call of a throwable function as a {@link ForkJoinPool.ManagedBlocker},
+ * so the pool may activate a spare worker while it blocks
+ *
+ * @param <T> the type of the input to the function
+ * @param <R> the type of the result of the function
+ * @param <E> the type of the exception may be thrown by the function
+ */
+final class BlockingCall<T, R, E extends Exception> implements ForkJoinPool.ManagedBlocker {
+    private final ThrowableFunctionExt<T, R, E> function;
+    private final T input;
+    private R result;
+    private Exception failure;
+    private boolean done;
+
+    private BlockingCall(ThrowableFunctionExt<T, R, E> function, T input) {
+        this.function = function;
+        this.input = input;
+    }
+
+    /**
+     * calls the function, through {@link ForkJoinPool#managedBlock(ForkJoinPool.ManagedBlocker)}
+     * on a worker of a pool
+     * @return the result of the function
+     * @throws E the exception of the function
+     */
+    static <T, R, E extends Exception> R call(ThrowableFunctionExt<T, R, E> function, T input) throws E {
+        if (ForkJoinTask.getPool() == null) {
+            // not on a worker, nothing to compensate
+            return function.apply(input);
+        }
+        var call = new BlockingCall<>(function, input);
+        try {
+            ForkJoinPool.managedBlock(call);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FunctionExecutionException(e);
+        }
+        if (call.failure != null) {
+            // the function throws only E as a checked exception
+            throw Exceptions.<E>propagate(call.failure);
+        }
+        return call.result;
+    }
+
+    @Override
+    public boolean block() {
+        try {
+            result = function.apply(input);
+        } catch (Exception e) {
+            failure = e;
+        }
+        done = true;
+        return true;
+    }
+
+    @Override
+    public boolean isReleasable() {
+        return done;
+    }
+}
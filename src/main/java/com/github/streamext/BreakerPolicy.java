@@ -0,0 +1,130 @@
+package com.github.streamext;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configuration of a {@link CircuitBreaker}, immutable.
+ *
+ * <pre>{@code
+ *   BreakerPolicy.failureRateAbove(50, 100)
+ *       .minimumCalls(20)
+ *       .openFor(Duration.ofSeconds(30))
+ *       .halfOpenCalls(5)
+ * }</pre>
+ *
+ * <p>
+ *  The breaker opens when the rate of the failures among the last {@code windowSize} calls
+ *  reaches the threshold. After the open duration, it lets the half-open calls through
+ *  as trials: when all of them succeed it closes, when any of them fails it opens again.
+ *
+ * @see StreamExt#circuitBreaker(ThrowableFunctionExt, BreakerPolicy)
+ */
+public final class BreakerPolicy {
+    private static final long DEFAULT_OPEN_NANOS = Duration.ofSeconds(30).toNanos();
+
+    private final double failureRateThreshold;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private BreakerPolicy(double failureRateThreshold, int windowSize, int minimumCalls, long openNanos, int halfOpenCalls) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.openNanos = openNanos;
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * Returns a policy which opens the breaker when the failure rate of the last
+     * {@code windowSize} calls reaches {@code percentage}, open for 30 seconds
+     * with a single half-open call.
+     *
+     * @param percentage the failure rate threshold, greater than 0 and up to 100
+     * @param windowSize the number of the last calls to compute the failure rate,
+     *                   which is also the minimum number of calls before opening
+     * @return the policy
+     */
+    public static BreakerPolicy failureRateAbove(double percentage, int windowSize) {
+        if (!(percentage > 0 && percentage <= 100)) {
+            throw new IllegalArgumentException("percentage must be in (0, 100]: " + percentage);
+        }
+        requirePositive("windowSize", windowSize);
+        return new BreakerPolicy(percentage, windowSize, windowSize, DEFAULT_OPEN_NANOS, 1);
+    }
+
+    /**
+     * Returns a copy of this policy which may open the breaker after the given number of calls,
+     * before the window is filled.
+     *
+     * @param minimumCalls the minimum number of calls, up to the window size
+     * @return the policy
+     */
+    public BreakerPolicy minimumCalls(int minimumCalls) {
+        requirePositive("minimumCalls", minimumCalls);
+        if (minimumCalls > windowSize) {
+            throw new IllegalArgumentException("minimumCalls must not exceed windowSize " + windowSize + ": " + minimumCalls);
+        }
+        return new BreakerPolicy(failureRateThreshold, windowSize, minimumCalls, openNanos, halfOpenCalls);
+    }
+
+    /**
+     * Returns a copy of this policy which keeps the breaker open for the given duration
+     * before the half-open calls.
+     *
+     * @param duration the open duration
+     * @return the policy
+     */
+    public BreakerPolicy openFor(Duration duration) {
+        Objects.requireNonNull(duration);
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive: " + duration);
+        }
+        long nanos;
+        try {
+            nanos = duration.toNanos();
+        } catch (ArithmeticException e) {
+            nanos = Long.MAX_VALUE;
+        }
+        return new BreakerPolicy(failureRateThreshold, windowSize, minimumCalls, nanos, halfOpenCalls);
+    }
+
+    /**
+     * Returns a copy of this policy which lets the given number of trial calls through in the half-open state.
+     *
+     * @param halfOpenCalls the number of the trial calls
+     * @return the policy
+     */
+    public BreakerPolicy halfOpenCalls(int halfOpenCalls) {
+        requirePositive("halfOpenCalls", halfOpenCalls);
+        return new BreakerPolicy(failureRateThreshold, windowSize, minimumCalls, openNanos, halfOpenCalls);
+    }
+
+    double failureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    int windowSize() {
+        return windowSize;
+    }
+
+    int minimumCalls() {
+        return minimumCalls;
+    }
+
+    long openNanos() {
+        return openNanos;
+    }
+
+    int halfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    private static void requirePositive(String name, int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive: " + value);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.streamext;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configuration of a {@link CachedFunction}, immutable.
+ *
+ * <pre>{@code
+ *   CachePolicy.maximumSize(10_000)
+ *       .expireAfterWrite(Duration.ofMinutes(5))
+ *       .cacheFailures(Duration.ofSeconds(30))
+ * }</pre>
+ *
+ * <p>
+ *  When the cache has more entries than the maximum size, the least recently used entry is evicted.
+ *
+ * @see StreamExt#cached(ThrowableFunctionExt, CachePolicy)
+ */
+public final class CachePolicy {
+    static final long NEVER = 0L;
+
+    private final long maximumSize;
+    private final long expireAfterWriteNanos;
+    private final long failureExpireNanos;
+
+    private CachePolicy(long maximumSize, long expireAfterWriteNanos, long failureExpireNanos) {
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.failureExpireNanos = failureExpireNanos;
+    }
+
+    /**
+     * Returns a policy without the size limit, expiration and caching of failures.
+     *
+     * @return the policy
+     */
+    public static CachePolicy unbounded() {
+        return new CachePolicy(Long.MAX_VALUE, NEVER, NEVER);
+    }
+
+    /**
+     * Returns a policy which keeps at most {@code maximumSize} entries.
+     *
+     * @param maximumSize the maximum number of entries
+     * @return the policy
+     */
+    public static CachePolicy maximumSize(long maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        return new CachePolicy(maximumSize, NEVER, NEVER);
+    }
+
+    /**
+     * Returns a copy of this policy which expires the entries after the given time since loaded.
+     *
+     * @param ttl the time to live of the entries
+     * @return the policy
+     */
+    public CachePolicy expireAfterWrite(Duration ttl) {
+        return new CachePolicy(maximumSize, toPositiveNanos(ttl), failureExpireNanos);
+    }
+
+    /**
+     * Returns a copy of this policy which caches the exception thrown by the function
+     * for the given time, so the failing key is not loaded again on every element.
+     *
+     * @param ttl the time to live of the failures
+     * @return the policy
+     */
+    public CachePolicy cacheFailures(Duration ttl) {
+        return new CachePolicy(maximumSize, expireAfterWriteNanos, toPositiveNanos(ttl));
+    }
+
+    long maximumSize() {
+        return maximumSize;
+    }
+
+    long expireAfterWriteNanos() {
+        return expireAfterWriteNanos;
+    }
+
+    long failureExpireNanos() {
+        return failureExpireNanos;
+    }
+
+    private static long toPositiveNanos(Duration ttl) {
+        Objects.requireNonNull(ttl);
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        }
+        try {
+            return ttl.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.streamext;
+
+/**
+ * Snapshot of the counters of a {@link CachedFunction}.
+ */
+public final class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long loadFailureCount;
+
+    CacheStats(long hitCount, long missCount, long evictionCount, long loadFailureCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.loadFailureCount = loadFailureCount;
+    }
+
+    /**
+     * Returns the number of calls which found an entry, including the calls
+     * which waited for a load in flight by another thread.
+     *
+     * @return the number of hits
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of calls which loaded the value by calling the function.
+     *
+     * @return the number of misses
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of entries evicted because of the size limit.
+     *
+     * @return the number of evictions
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of loads in which the function threw an exception.
+     *
+     * @return the number of failed loads
+     */
+    public long loadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * Returns the ratio of the hits to all the calls, or {@code 1.0} when not called yet.
+     *
+     * @return the hit rate
+     */
+    public double hitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 1.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hitCount=" + hitCount + ", missCount=" + missCount
+                + ", evictionCount=" + evictionCount + ", loadFailureCount=" + loadFailureCount + "}";
+    }
+}
@@ -0,0 +1,271 @@
+package com.github.streamext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ThrowableFunctionExt} which memoizes the results of another function.
+ *
+ * <p>
+ *  Concurrent calls for the same key share a single load in flight: only one of them
+ *  calls the function, the others wait for its result. When the function throws,
+ *  all of them throw the same exception instance, and so do the hits on a cached failure,
+ *  which is cached only when {@link CachePolicy#cacheFailures(java.time.Duration)} is configured.
+ *  The callers should not modify the instance, e.g. by adding suppressed exceptions.
+ *
+ * <p>
+ *  The function must not call this function with the key being loaded on the same thread,
+ *  which would wait for its own load. It throws {@link IllegalStateException} instead.
+ *
+ * <p>
+ *  A hit does not take a lock. The accesses are recorded in a buffer, and replayed to
+ *  the LRU order under a lock when the buffer is drained. When the buffer is full,
+ *  the accesses are dropped, so the LRU order is approximate under heavy contention.
+ *
+ * @param <T> the type of the input to the function
+ * @param <R> the type of the result of the function
+ * @param <E> the type of the exception may be thrown by the function
+ * @see StreamExt#cached(ThrowableFunctionExt, CachePolicy)
+ */
+public final class CachedFunction<T, R, E extends Exception> implements ThrowableFunctionExt<T, R, E> {
+    private static final Object NULL_KEY = new Object();
+    private static final int DRAIN_THRESHOLD = 64;
+    private static final int MAX_BUFFERED_ACCESSES = 4096;
+
+    private final ThrowableFunctionExt<T, R, E> loader;
+    private final long maximumSize;
+    private final long expireAfterWriteNanos;
+    private final long failureExpireNanos;
+    private final ConcurrentHashMap<Object, Node<R>> map = new ConcurrentHashMap<>();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Node<R> lru = new Node<>(null);
+    private long linkedCount;
+    private final ConcurrentLinkedQueue<Node<R>> accessBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedAccesses = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+
+    CachedFunction(ThrowableFunctionExt<T, R, E> loader, CachePolicy policy) {
+        this.loader = loader;
+        this.maximumSize = policy.maximumSize();
+        this.expireAfterWriteNanos = policy.expireAfterWriteNanos();
+        this.failureExpireNanos = policy.failureExpireNanos();
+        lru.prev = lru;
+        lru.next = lru;
+    }
+
+    @Override
+    public R apply(T t) throws E {
+        Object key = t == null ? NULL_KEY : t;
+        for (;;) {
+            Node<R> node = map.get(key);
+            if (node == null) {
+                var created = new Node<R>(key);
+                node = map.putIfAbsent(key, created);
+                if (node == null) {
+                    misses.increment();
+                    return load(created, t);
+                }
+            }
+            if (node.isExpired()) {
+                remove(node);
+                continue;
+            }
+            hits.increment();
+            recordAccess(node);
+            return await(node);
+        }
+    }
+
+    /**
+     * Returns the snapshot of the counters.
+     *
+     * @return the counters
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), loadFailures.sum());
+    }
+
+    /**
+     * Returns the approximate number of entries, including the loads in flight.
+     *
+     * @return the number of entries
+     */
+    public long size() {
+        return map.mappingCount();
+    }
+
+    /**
+     * Discards all the entries.
+     */
+    public void invalidateAll() {
+        evictionLock.lock();
+        try {
+            map.clear();
+            accessBuffer.clear();
+            bufferedAccesses.set(0);
+            while (lru.next != lru) {
+                unlink(lru.next);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private R load(Node<R> node, T t) throws E {
+        try {
+            node.loader = Thread.currentThread();
+            R value = loader.apply(t);
+            node.expiresAt = expiresAt(expireAfterWriteNanos);
+            node.future.complete(value);
+            afterWrite(node);
+            return value;
+        } catch (Throwable e) {
+            loadFailures.increment();
+            if (failureExpireNanos != CachePolicy.NEVER && e instanceof Exception) {
+                node.expiresAt = expiresAt(failureExpireNanos);
+                node.future.completeExceptionally(e);
+                afterWrite(node);
+            } else {
+                node.future.completeExceptionally(e);
+                map.remove(node.key, node);
+            }
+            throw e;
+        } finally {
+            node.loader = null;
+        }
+    }
+
+    private R await(Node<R> node) throws E {
+        if (node.loader == Thread.currentThread() && !node.future.isDone()) {
+            throw new IllegalStateException("recursive load of the key: " + node.key);
+        }
+        try {
+            return node.future.join();
+        } catch (CompletionException e) {
+            // the same failure as the loading call throws, so the callers see the same type
+            throw Exceptions.<E>propagate(e.getCause());
+        }
+    }
+
+    private static long expiresAt(long ttlNanos) {
+        if (ttlNanos == CachePolicy.NEVER) {
+            return Node.NEVER_EXPIRES;
+        }
+        long expiresAt = System.nanoTime() + ttlNanos;
+        return expiresAt == Node.NEVER_EXPIRES ? expiresAt + 1 : expiresAt;
+    }
+
+    private void recordAccess(Node<R> node) {
+        if (maximumSize == Long.MAX_VALUE) {
+            return;
+        }
+        if (bufferedAccesses.get() < MAX_BUFFERED_ACCESSES) {
+            accessBuffer.offer(node);
+            bufferedAccesses.incrementAndGet();
+        }
+        if (bufferedAccesses.get() >= DRAIN_THRESHOLD && evictionLock.tryLock()) {
+            try {
+                drainAccessBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void afterWrite(Node<R> node) {
+        evictionLock.lock();
+        try {
+            drainAccessBuffer();
+            if (map.get(node.key) == node && !node.linked) {
+                linkLast(node);
+            }
+            while (linkedCount > maximumSize) {
+                Node<R> victim = lru.next;
+                unlink(victim);
+                if (map.remove(victim.key, victim)) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void remove(Node<R> node) {
+        map.remove(node.key, node);
+        evictionLock.lock();
+        try {
+            if (node.linked) {
+                unlink(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void drainAccessBuffer() {
+        int drained = 0;
+        Node<R> node;
+        while ((node = accessBuffer.poll()) != null) {
+            drained++;
+            if (node.linked) {
+                unlink(node);
+                linkLast(node);
+            }
+        }
+        bufferedAccesses.addAndGet(-drained);
+    }
+
+    private void linkLast(Node<R> node) {
+        node.prev = lru.prev;
+        node.next = lru;
+        lru.prev.next = node;
+        lru.prev = node;
+        node.linked = true;
+        linkedCount++;
+    }
+
+    private void unlink(Node<R> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        node.linked = false;
+        linkedCount--;
+    }
+
+    /**
+     * an entry of the cache. the links are guarded by the eviction lock.
+     */
+    private static final class Node<R> {
+        static final long NEVER_EXPIRES = Long.MIN_VALUE;
+
+        final Object key;
+        final CompletableFuture<R> future = new CompletableFuture<>();
+        // the thread calling the function, until loaded
+        Thread loader;
+        volatile long expiresAt = NEVER_EXPIRES;
+        Node<R> prev;
+        Node<R> next;
+        boolean linked;
+
+        Node(Object key) {
+            this.key = key;
+        }
+
+        boolean isExpired() {
+            long at = expiresAt;
+            return at != NEVER_EXPIRES && System.nanoTime() - at >= 0;
+        }
+    }
+}
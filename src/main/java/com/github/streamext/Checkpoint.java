@@ -0,0 +1,108 @@
+package com.github.streamext;
+
+import java.util.Objects;
+
+/**
+ * Progress of a checkpointed stream, immutable: the ordinals of the completed elements.
+ *
+ * <p>
+ *  All the ordinals below the watermark are completed. Above it, the elements completed
+ *  out of order by a parallel stream are recorded in a bitmap, whose word {@code j} covers
+ *  the ordinals from {@code (watermark & ~63) + 64 * j}.
+ *
+ * @see CheckpointStore
+ */
+public final class Checkpoint {
+    private static final Checkpoint EMPTY = new Checkpoint(0L, new long[0]);
+
+    private final long watermark;
+    private final long[] completedAbove;
+
+    private Checkpoint(long watermark, long[] completedAbove) {
+        this.watermark = watermark;
+        this.completedAbove = completedAbove;
+    }
+
+    /**
+     * Returns the checkpoint of no completed element.
+     *
+     * @return the empty checkpoint
+     */
+    public static Checkpoint empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a checkpoint of the watermark and the bitmap.
+     *
+     * @param watermark the ordinal below which all the elements are completed
+     * @param completedAbove the bitmap of the elements completed above the watermark, copied
+     * @return the checkpoint
+     */
+    public static Checkpoint of(long watermark, long[] completedAbove) {
+        if (watermark < 0) {
+            throw new IllegalArgumentException("watermark must not be negative: " + watermark);
+        }
+        return new Checkpoint(watermark, Objects.requireNonNull(completedAbove).clone());
+    }
+
+    /**
+     * Returns the ordinal below which all the elements are completed.
+     *
+     * @return the watermark
+     */
+    public long watermark() {
+        return watermark;
+    }
+
+    /**
+     * Returns the bitmap of the elements completed above the watermark.
+     *
+     * @return the copy of the bitmap
+     */
+    public long[] completedAbove() {
+        return completedAbove.clone();
+    }
+
+    /**
+     * Returns whether the element of the ordinal is completed.
+     *
+     * @param ordinal the ordinal of the element in encounter order
+     * @return {@code true} if completed
+     */
+    public boolean isCompleted(long ordinal) {
+        if (ordinal < watermark) {
+            return true;
+        }
+        long word = (ordinal - (watermark & ~63L)) >>> 6;
+        return word < completedAbove.length && (completedAbove[(int) word] & (1L << ordinal)) != 0;
+    }
+
+    long[] words() {
+        return completedAbove;
+    }
+
+    /**
+     * Returns the number of the completed elements.
+     *
+     * @return the number of the completed elements
+     */
+    public long completedCount() {
+        long count = watermark;
+        long base = watermark & ~63L;
+        for (int i = 0; i < completedAbove.length; i++) {
+            long word = completedAbove[i];
+            if (i == 0) {
+                // the bits below the watermark are counted by it
+                word &= -1L << (watermark - base);
+            }
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "Checkpoint{watermark=" + watermark + ", completedCount=" + completedCount() + "}";
+    }
+}
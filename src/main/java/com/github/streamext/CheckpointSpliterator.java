@@ -0,0 +1,120 @@
+package com.github.streamext;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} which numbers the source elements in encounter order, skips the
+ * ones completed by a previous run, and marks an element completed after the action
+ * on it returned.
+ *
+ * <p>
+ *  It is split only when the source is {@link Spliterator#SUBSIZED}, so the ordinals of
+ *  the suffix are known from the exact size of the prefix. Otherwise it runs sequentially,
+ *  as the ordinals of a parallel stream would not be stable across the runs.
+ *  When an element fails, all the splits stop before their next element.
+ *
+ * @param <T> the type of the elements
+ */
+final class CheckpointSpliterator<T> implements Spliterator<T>, Consumer<T> {
+    private final Spliterator<T> source;
+    private final Checkpointer checkpointer;
+    private long ordinal;
+    private long[] chunk;
+    private long chunkIndex = -1;
+    private Consumer<? super T> action;
+    private boolean delivered;
+
+    CheckpointSpliterator(Spliterator<T> source, Checkpointer checkpointer, long ordinal) {
+        this.source = source;
+        this.checkpointer = checkpointer;
+        this.ordinal = ordinal;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        this.action = action;
+        delivered = false;
+        checkpointer.enter();
+        try {
+            while (!delivered && !checkpointer.isCancelled() && source.tryAdvance(this)) {
+                // skipping the completed elements
+            }
+            return delivered;
+        } catch (RuntimeException | Error e) {
+            checkpointer.cancel();
+            throw e;
+        } finally {
+            this.action = null;
+            checkpointer.exit();
+        }
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        this.action = action;
+        checkpointer.enter();
+        try {
+            while (!checkpointer.isCancelled() && source.tryAdvance(this)) {
+                // checks the cancellation per element
+            }
+        } catch (RuntimeException | Error e) {
+            checkpointer.cancel();
+            throw e;
+        } finally {
+            this.action = null;
+            checkpointer.exit();
+        }
+    }
+
+    /**
+     * @deprecated called by the source only
+     */
+    @Deprecated
+    @Override
+    public void accept(T t) {
+        long current = ordinal++;
+        if (current >>> Checkpointer.CHUNK_SHIFT != chunkIndex) {
+            // the ordinals of a split are contiguous, so the chunk changes once per chunk size
+            chunkIndex = current >>> Checkpointer.CHUNK_SHIFT;
+            chunk = checkpointer.chunk(current);
+        }
+        if (checkpointer.isCompleted(chunk, current)) {
+            return;
+        }
+        action.accept(t);
+        Checkpointer.markCompleted(chunk, current);
+        delivered = true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (checkpointer.isCancelled() || !source.hasCharacteristics(SUBSIZED)) {
+            return null;
+        }
+        Spliterator<T> prefix = source.trySplit();
+        if (prefix == null) {
+            return null;
+        }
+        var split = new CheckpointSpliterator<>(prefix, checkpointer, ordinal);
+        ordinal += prefix.getExactSizeIfKnown();
+        return split;
+    }
+
+    @Override
+    public long estimateSize() {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        // the completed elements are skipped
+        return source.characteristics() & ~(SIZED | SUBSIZED);
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        return source.getComparator();
+    }
+}
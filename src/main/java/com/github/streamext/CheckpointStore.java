@@ -0,0 +1,46 @@
+package com.github.streamext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Storage of the {@link Checkpoint} of a job, to resume it after a crash.
+ *
+ * @see StreamExt#forEachCheckpointed(java.util.stream.Stream, java.util.function.Consumer, CheckpointStore, java.time.Duration)
+ */
+public interface CheckpointStore {
+    /**
+     * Loads the last saved checkpoint.
+     *
+     * @return the checkpoint, or {@link Checkpoint#empty()} if not saved
+     * @throws IOException if failed to load
+     */
+    Checkpoint load() throws IOException;
+
+    /**
+     * Saves the checkpoint durably, replacing the previous one.
+     *
+     * @param checkpoint the checkpoint
+     * @throws IOException if failed to save
+     */
+    void save(Checkpoint checkpoint) throws IOException;
+
+    /**
+     * Removes the saved checkpoint, after the job completed.
+     *
+     * @throws IOException if failed to remove
+     */
+    void clear() throws IOException;
+
+    /**
+     * Returns the store in a local file. A checkpoint is written to a temporary file,
+     * forced to the storage and moved atomically to the file, so a crash while saving
+     * leaves the previous one.
+     *
+     * @param file the file
+     * @return the store
+     */
+    static CheckpointStore file(Path file) {
+        return new FileCheckpointStore(file);
+    }
+}
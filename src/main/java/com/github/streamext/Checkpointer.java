@@ -0,0 +1,220 @@
+package com.github.streamext;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tracker of the completed ordinals of a checkpointed stream, which saves them periodically.
+ *
+ * <p>
+ *  A completion sets a bit in a chunk of a bitmap by an atomic OR. A split caches the chunk of its
+ *  current ordinal, so the map of the chunks is looked up once per chunk, not per element.
+ *  A worker thread advances the watermark over the contiguous completed ordinals,
+ *  drops the chunks passed by it and saves the checkpoint at each interval, so the
+ *  store forces its writes once per interval, not per element. A completion missed by
+ *  a snapshot is only saved by the next one, so the saved checkpoint never has an
+ *  element which has not been completed.
+ *
+ * <p>
+ *  When an element fails, the splits are cancelled, and the last checkpoint is saved after
+ *  the other workers finished the elements they are processing, so their completions are not lost.
+ *  When a periodic save fails, the splits are cancelled as well, and the failure is thrown by {@link #finish(boolean)},
+ *  so a full disk does not go unnoticed while the elements are processed without being saved.
+ */
+final class Checkpointer {
+    static final int CHUNK_SHIFT = 16;
+    private static final int WORDS_PER_CHUNK = 1 << (CHUNK_SHIFT - 6);
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final CheckpointStore store;
+    private final long intervalNanos;
+    private final ConcurrentHashMap<Long, long[]> chunks = new ConcurrentHashMap<>();
+    private volatile long watermark;
+    private volatile boolean stopped;
+    private volatile boolean cancelled;
+    private volatile IOException saveFailure;
+    private final AtomicInteger traversals = new AtomicInteger();
+    private Thread worker;
+
+    Checkpointer(Checkpoint initial, CheckpointStore store, long intervalNanos) {
+        if (intervalNanos <= 0) {
+            throw new IllegalArgumentException("interval must be positive: " + intervalNanos);
+        }
+        this.store = store;
+        this.intervalNanos = intervalNanos;
+        this.watermark = initial.watermark();
+        long[] words = initial.words();
+        long base = initial.watermark() & ~63L;
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            if (word != 0) {
+                chunk(base + ((long) i << 6))[wordIndex(base + ((long) i << 6))] = word;
+            }
+        }
+    }
+
+    /**
+     * returns the chunk of the bitmap which has the ordinal, to be cached by the caller.
+     * a chunk is dropped only after the watermark passed all its ordinals, so a dropped one is still valid to use.
+     */
+    long[] chunk(long ordinal) {
+        long[] chunk = chunks.get(ordinal >>> CHUNK_SHIFT);
+        return chunk != null ? chunk : chunks.computeIfAbsent(ordinal >>> CHUNK_SHIFT, key -> new long[WORDS_PER_CHUNK]);
+    }
+
+    boolean isCompleted(long[] chunk, long ordinal) {
+        return ordinal < watermark || ((long) WORDS.getOpaque(chunk, wordIndex(ordinal)) & (1L << ordinal)) != 0;
+    }
+
+    static void markCompleted(long[] chunk, long ordinal) {
+        WORDS.getAndBitwiseOr(chunk, wordIndex(ordinal), 1L << ordinal);
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * counts a traversal of a split in progress, awaited before the last checkpoint is saved
+     */
+    void enter() {
+        traversals.incrementAndGet();
+    }
+
+    void exit() {
+        traversals.decrementAndGet();
+    }
+
+    void start() {
+        worker = Thread.ofPlatform().name("streamext-checkpoint").daemon().unstarted(this::run);
+        worker.start();
+    }
+
+    /**
+     * Stops the worker, and saves the last checkpoint, or clears it when the stream completed.
+     * When a periodic save failed and cancelled the splits, the stream is not completed, and the failure is thrown
+     * after the last checkpoint is saved.
+     *
+     * @param completed whether all the elements are completed
+     * @throws IOException if failed to save or clear, or if a periodic save failed
+     */
+    void finish(boolean completed) throws IOException {
+        IOException failure = saveFailure;
+        if (failure != null) {
+            completed = false;
+        }
+        if (!completed) {
+            cancelled = true;
+            while (traversals.get() > 0) {
+                LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+            }
+        }
+        stopped = true;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+            boolean interrupted = false;
+            for (;;) {
+                try {
+                    worker.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (completed) {
+            store.clear();
+            return;
+        }
+        try {
+            store.save(snapshot());
+        } catch (IOException | RuntimeException e) {
+            if (failure == null) {
+                throw e;
+            }
+            failure.addSuppressed(e);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void run() {
+        while (!stopped) {
+            LockSupport.parkNanos(this, intervalNanos);
+            if (stopped) {
+                return;
+            }
+            try {
+                store.save(snapshot());
+            } catch (IOException e) {
+                saveFailure = e;
+                cancelled = true;
+                return;
+            } catch (RuntimeException e) {
+                saveFailure = new IOException("failed to save the checkpoint", e);
+                cancelled = true;
+                return;
+            }
+        }
+    }
+
+    synchronized Checkpoint snapshot() {
+        long w = watermark;
+        for (;;) {
+            long[] chunk = chunks.get(w >>> CHUNK_SHIFT);
+            if (chunk == null) {
+                break;
+            }
+            long word = (long) WORDS.getVolatile(chunk, wordIndex(w));
+            int completed = Long.numberOfTrailingZeros(~(word >>> w));
+            if (completed == 0) {
+                break;
+            }
+            w += completed;
+        }
+        // published before the chunks are dropped, see isCompleted
+        watermark = w;
+        long watermarkChunk = w >>> CHUNK_SHIFT;
+        chunks.keySet().removeIf(key -> key < watermarkChunk);
+
+        long base = w & ~63L;
+        long last = -1;
+        for (long key : chunks.keySet()) {
+            last = Math.max(last, key);
+        }
+        if (last < 0) {
+            return Checkpoint.of(w, new long[0]);
+        }
+        long[] words = new long[Math.toIntExact((((last + 1) << CHUNK_SHIFT) - base) >>> 6)];
+        for (int i = 0; i < words.length; i++) {
+            long ordinal = base + ((long) i << 6);
+            long[] chunk = chunks.get(ordinal >>> CHUNK_SHIFT);
+            if (chunk != null) {
+                words[i] = (long) WORDS.getVolatile(chunk, wordIndex(ordinal));
+            }
+        }
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        return Checkpoint.of(w, Arrays.copyOf(words, length));
+    }
+
+    private static int wordIndex(long ordinal) {
+        return (int) (ordinal >>> 6) & (WORDS_PER_CHUNK - 1);
+    }
+}
@@ -0,0 +1,215 @@
+package com.github.streamext;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker which short-circuits the calls of the functions to a dependency while it is down.
+ *
+ * <p>
+ *  A breaker can be shared by the functions, the streams and the threads calling the same dependency.
+ *  While it is open, the wrapped functions throw {@link CircuitOpenException} without being called,
+ *  so the {@code fallback} wrappers handle the elements right away.
+ *
+ * <p>
+ *  The state machine is lock-free. Each state is an immutable epoch swapped by a CAS,
+ *  and a call reports its result to the epoch it started in, so the results of the calls
+ *  started before a transition do not affect the new state. A successful call in the closed
+ *  state only records its outcome in the ring buffer of the window.
+ *
+ * @see StreamExt#circuitBreaker(ThrowableFunctionExt, CircuitBreaker)
+ */
+public final class CircuitBreaker {
+    /**
+     * The state of a {@link CircuitBreaker}.
+     */
+    public enum State {
+        /** the calls go through, and their failure rate is monitored */
+        CLOSED,
+        /** the calls are rejected until the open duration has elapsed */
+        OPEN,
+        /** the trial calls go through, and the others are rejected */
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final BreakerPolicy policy;
+    private final AtomicReference<Epoch> epoch;
+
+    private CircuitBreaker(String name, BreakerPolicy policy) {
+        this.name = name;
+        this.policy = policy;
+        this.epoch = new AtomicReference<>(Epoch.closed(policy.windowSize()));
+    }
+
+    /**
+     * Returns a new breaker in the closed state.
+     *
+     * @param name the name of the breaker, reported by {@link CircuitOpenException}
+     * @param policy the failure rate threshold, the window and the open duration
+     * @return the breaker
+     */
+    public static CircuitBreaker of(String name, BreakerPolicy policy) {
+        return new CircuitBreaker(Objects.requireNonNull(name), Objects.requireNonNull(policy));
+    }
+
+    /**
+     * Returns the name of this breaker.
+     *
+     * @return the name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the current state. An open breaker stays {@link State#OPEN}
+     * after the open duration until the next call.
+     *
+     * @return the state
+     */
+    public State state() {
+        return epoch.get().state;
+    }
+
+    /**
+     * Returns the failure rate of the calls in the window, while closed.
+     *
+     * @return the failure rate in percentage, or {@code 0} while not closed
+     */
+    public double failureRate() {
+        Epoch current = epoch.get();
+        return current.window == null ? 0.0 : current.window.failureRate();
+    }
+
+    /**
+     * Returns the breaker to the closed state with an empty window.
+     */
+    public void reset() {
+        epoch.set(Epoch.closed(policy.windowSize()));
+    }
+
+    /**
+     * acquires the permission to call
+     * @return the epoch to report the result of the call to
+     * @throws CircuitOpenException if the call is not permitted
+     */
+    Epoch acquire() {
+        for (;;) {
+            Epoch current = epoch.get();
+            switch (current.state) {
+                case CLOSED:
+                    return current;
+                case OPEN:
+                    if (System.nanoTime() - current.openedAtNanos < policy.openNanos()) {
+                        throw new CircuitOpenException(name);
+                    }
+                    epoch.compareAndSet(current, Epoch.halfOpen(policy.halfOpenCalls()));
+                    break;
+                default:
+                    if (current.tryAcquireTrial()) {
+                        return current;
+                    }
+                    throw new CircuitOpenException(name);
+            }
+        }
+    }
+
+    /**
+     * reports the result of a permitted call
+     * @param permit the epoch returned by {@link #acquire()}
+     * @param succeeded whether the call succeeded
+     */
+    void record(Epoch permit, boolean succeeded) {
+        if (permit.state == State.CLOSED) {
+            permit.window.record(succeeded ? 0 : 1);
+            if (!succeeded && permit.window.isTripped(policy)) {
+                epoch.compareAndSet(permit, Epoch.open(System.nanoTime()));
+            }
+        } else if (!succeeded) {
+            epoch.compareAndSet(permit, Epoch.open(System.nanoTime()));
+        } else if (permit.trialSuccesses.incrementAndGet() == policy.halfOpenCalls()) {
+            epoch.compareAndSet(permit, Epoch.closed(policy.windowSize()));
+        }
+    }
+
+    /**
+     * an immutable state, identified by the instance
+     */
+    static final class Epoch {
+        final State state;
+        final Window window;
+        final long openedAtNanos;
+        final AtomicInteger trials;
+        final AtomicInteger trialSuccesses;
+
+        private Epoch(State state, Window window, long openedAtNanos, int trials) {
+            this.state = state;
+            this.window = window;
+            this.openedAtNanos = openedAtNanos;
+            this.trials = state == State.HALF_OPEN ? new AtomicInteger(trials) : null;
+            this.trialSuccesses = state == State.HALF_OPEN ? new AtomicInteger() : null;
+        }
+
+        static Epoch closed(int windowSize) {
+            return new Epoch(State.CLOSED, new Window(windowSize), 0L, 0);
+        }
+
+        static Epoch open(long openedAtNanos) {
+            return new Epoch(State.OPEN, null, openedAtNanos, 0);
+        }
+
+        static Epoch halfOpen(int trials) {
+            return new Epoch(State.HALF_OPEN, null, 0L, trials);
+        }
+
+        boolean tryAcquireTrial() {
+            for (;;) {
+                int remaining = trials.get();
+                if (remaining <= 0) {
+                    return false;
+                }
+                if (trials.compareAndSet(remaining, remaining - 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * the outcomes of the last calls in a ring buffer, 1 for a failure and 0 for a success
+     */
+    private static final class Window {
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        Window(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        void record(int outcome) {
+            int slot = (int) (calls.getAndIncrement() % outcomes.length());
+            if (outcomes.get(slot) == outcome) {
+                // a success over a success, the common case, does not write
+                return;
+            }
+            int previous = outcomes.getAndSet(slot, outcome);
+            if (previous != outcome) {
+                failures.addAndGet(outcome - previous);
+            }
+        }
+
+        boolean isTripped(BreakerPolicy policy) {
+            return calls.get() >= policy.minimumCalls() && failureRate() >= policy.failureRateThreshold();
+        }
+
+        double failureRate() {
+            long count = Math.min(calls.get(), outcomes.length());
+            return count == 0 ? 0.0 : failures.get() * 100.0 / count;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.streamext;
+
+/**
+ * Exception thrown instead of calling the function while the {@link CircuitBreaker} is open.
+ * It is handled by the {@code fallback} wrappers like the exceptions of the function.
+ *
+ * <p>
+ *  It does not capture the stack trace, as it is thrown for every element while open.
+ */
+public class CircuitOpenException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String breakerName;
+
+    /**
+     * Constructs an {@code CircuitOpenException} for the given breaker.
+     *
+     * @param breakerName the name of the open breaker
+     */
+    public CircuitOpenException(String breakerName) {
+        super("circuit breaker '" + breakerName + "' is open", null, false, false);
+        this.breakerName = breakerName;
+    }
+
+    /**
+     * Returns the name of the open breaker.
+     *
+     * @return the name
+     */
+    public String getBreakerName() {
+        return breakerName;
+    }
+}
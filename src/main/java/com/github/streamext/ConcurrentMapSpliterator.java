@@ -0,0 +1,149 @@
+package com.github.streamext;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link Spliterator} which applies a mapper on virtual threads,
+ * keeping at most {@code maxInFlight} calls running at the same time.
+ *
+ * <p>
+ *  The source is pulled lazily: an element is taken from the source only when
+ *  a slot is free. In the ordered mode the results are emitted in encounter order,
+ *  otherwise in completion order.
+ *
+ * @param <T> the type of the source elements
+ * @param <R> the type of the mapped elements
+ */
+final class ConcurrentMapSpliterator<T, R> implements Spliterator<R> {
+    private final Spliterator<T> source;
+    private final Function<T, R> mapper;
+    private final int maxInFlight;
+    private final boolean ordered;
+    private final Deque<Task> pending = new ArrayDeque<>();
+    private final BlockingQueue<Task> completed;
+    private boolean exhausted;
+
+    ConcurrentMapSpliterator(Spliterator<T> source, int maxInFlight, Function<T, R> mapper, boolean ordered) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.source = source;
+        this.mapper = mapper;
+        this.maxInFlight = maxInFlight;
+        this.ordered = ordered;
+        this.completed = ordered ? null : new LinkedBlockingQueue<>();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        fill();
+        if (pending.isEmpty()) {
+            return false;
+        }
+        Task task;
+        if (ordered) {
+            task = pending.pollFirst();
+        } else {
+            task = takeCompleted();
+            pending.remove(task);
+        }
+        action.accept(join(task));
+        return true;
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        // the concurrency comes from the virtual threads, not from splitting
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        long size = source.estimateSize() + pending.size();
+        return size < 0 ? Long.MAX_VALUE : size;
+    }
+
+    @Override
+    public int characteristics() {
+        return ordered ? source.characteristics() & ORDERED : 0;
+    }
+
+    /**
+     * cancels all calls still in flight. registered as the close handler of the stream.
+     */
+    void cancel() {
+        Task task;
+        while ((task = pending.pollFirst()) != null) {
+            task.cancel(true);
+        }
+    }
+
+    private void fill() {
+        while (!exhausted && pending.size() < maxInFlight) {
+            exhausted = !source.tryAdvance(this::submit);
+        }
+    }
+
+    private void submit(T t) {
+        var task = new Task(t);
+        pending.addLast(task);
+        VirtualThreads.start(task);
+    }
+
+    private Task takeCompleted() {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw StreamExt.getDefaultRethrowMode().wrap(e);
+        }
+    }
+
+    private R join(Task task) {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            cancel();
+            throw propagate(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw StreamExt.getDefaultRethrowMode().wrap(e);
+        }
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException re) {
+            return re;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return StreamExt.getDefaultRethrowMode().wrap((Exception) cause);
+    }
+
+    /**
+     * a call of the mapper for one element
+     */
+    private final class Task extends FutureTask<R> {
+        Task(T t) {
+            super(() -> mapper.apply(t));
+        }
+
+        @Override
+        protected void done() {
+            if (completed != null && !isCancelled()) {
+                completed.add(this);
+            }
+        }
+    }
+}
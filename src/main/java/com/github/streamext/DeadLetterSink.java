@@ -0,0 +1,401 @@
+package com.github.streamext;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sink which keeps the elements discarded by the {@code fallback} wrappers, to reprocess them later.
+ *
+ * <pre>{@code
+ *   try (var deadLetters = DeadLetterSink.<Path>of(10_000, Path.of("dead-letters.bin"), DeadLetterSink.Serializer.java())) {
+ *       paths.stream().forEachE(this::upload, deadLetters);
+ *       ...
+ *       deadLetters.replay().forEachE(this::upload);
+ *   }
+ * }</pre>
+ *
+ * <p>
+ *  The first elements are kept in a bounded array in memory. A slot is claimed by an atomic increment,
+ *  so adding an element does not take a lock. When the array is full, the elements are serialized and
+ *  appended to a memory-mapped file, which is created on the first spill and replaces an existing one.
+ *  Each record is an {@code int} header of the length plus 1, written after its content, followed by the content;
+ *  a zero header ends the records, so a file left by a crashed process can be replayed
+ *  by {@link #replay(Path, Serializer)}.
+ *
+ * <p>
+ *  Only the elements are kept, not their exceptions. After the sink is closed, no element can be added,
+ *  but the kept elements can still be replayed.
+ *
+ * @param <T> the type of the elements
+ */
+public final class DeadLetterSink<T> implements BiConsumer<T, Exception>, AutoCloseable {
+    private static final Object NULL = new Object();
+    private static final int REGION_SIZE = 8 * 1024 * 1024;
+
+    private final AtomicReferenceArray<Object> memory;
+    private final AtomicLong claimed = new AtomicLong();
+    private final Path spillFile;
+    private final Serializer<T> serializer;
+
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private FileChannel channel;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long spilled;
+    private volatile boolean closed;
+
+    private DeadLetterSink(int memoryCapacity, Path spillFile, Serializer<T> serializer) {
+        if (memoryCapacity < 0) {
+            throw new IllegalArgumentException("memoryCapacity must not be negative: " + memoryCapacity);
+        }
+        this.memory = new AtomicReferenceArray<>(memoryCapacity);
+        this.spillFile = spillFile;
+        this.serializer = serializer;
+    }
+
+    /**
+     * Returns a sink which keeps up to {@code memoryCapacity} elements in memory,
+     * and spills the others to the file through the serializer.
+     *
+     * @param memoryCapacity the number of the elements kept in memory
+     * @param spillFile the file to spill to
+     * @param serializer the serializer of the spilled elements
+     * @param <T> the type of the elements
+     * @return the sink
+     */
+    public static <T> DeadLetterSink<T> of(int memoryCapacity, Path spillFile, Serializer<T> serializer) {
+        return new DeadLetterSink<>(memoryCapacity, Objects.requireNonNull(spillFile), Objects.requireNonNull(serializer));
+    }
+
+    /**
+     * Keeps the element which failed.
+     *
+     * @param t the element
+     * @param e the exception, not kept
+     * @throws UncheckedIOException if failed to spill
+     * @throws IllegalStateException if closed
+     */
+    @Override
+    public void accept(T t, Exception e) {
+        add(t);
+    }
+
+    /**
+     * Keeps the element.
+     *
+     * @param t the element
+     * @throws UncheckedIOException if failed to spill
+     * @throws IllegalStateException if closed
+     */
+    public void add(T t) {
+        if (closed) {
+            throw new IllegalStateException("dead letter sink is closed");
+        }
+        long index = claimed.getAndIncrement();
+        if (index < memory.length()) {
+            memory.set((int) index, t == null ? NULL : t);
+        } else {
+            spill(t);
+        }
+    }
+
+    /**
+     * Returns a fallback function for {@link StreamExt#fallback(ThrowableFunctionExt, BiFunction)}
+     * which keeps the failed element and maps it to the given value.
+     *
+     * @param value the value of the failed element
+     * @param <R> the type of the value
+     * @return the fallback function
+     */
+    public <R> BiFunction<T, Exception, R> returning(R value) {
+        return (t, e) -> {
+            add(t);
+            return value;
+        };
+    }
+
+    /**
+     * Returns a fallback function for {@link StreamExt#fallback(ThrowablePredicateExt, BiPredicate)}
+     * which keeps the failed element and excludes it.
+     *
+     * @return the fallback function
+     */
+    public BiPredicate<T, Exception> rejecting() {
+        return (t, e) -> {
+            add(t);
+            return false;
+        };
+    }
+
+    /**
+     * Returns the number of the kept elements.
+     *
+     * @return the number of the elements
+     */
+    public long size() {
+        return claimed.get();
+    }
+
+    /**
+     * Returns the number of the elements spilled to the file.
+     *
+     * @return the number of the spilled elements
+     */
+    public long spilledCount() {
+        spillLock.lock();
+        try {
+            return spilled;
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the kept elements, those in memory first, then those spilled in the order appended.
+     * Call it after the elements are added; an element being added concurrently may be missed.
+     * When some elements are spilled, the stream has to be closed to close the file.
+     *
+     * @return the stream of the elements
+     * @throws UncheckedIOException if failed to open the file
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<T> replay() {
+        int inMemory = (int) Math.min(claimed.get(), memory.length());
+        List<T> elements = new ArrayList<>(inMemory);
+        for (int i = 0; i < inMemory; i++) {
+            Object element = memory.get(i);
+            if (element != null) {
+                elements.add(element == NULL ? null : (T) element);
+            }
+        }
+        spillLock.lock();
+        try {
+            if (spilled == 0) {
+                return elements.stream();
+            }
+            if (channel != null) {
+                region.force();
+            }
+        } finally {
+            spillLock.unlock();
+        }
+        return Stream.concat(elements.stream(), replay(spillFile, serializer));
+    }
+
+    /**
+     * Returns the elements spilled to the file, possibly by another process.
+     * The stream has to be closed to close the file.
+     *
+     * @param spillFile the spilled file
+     * @param serializer the serializer of the elements
+     * @param <T> the type of the elements
+     * @return the stream of the elements
+     * @throws UncheckedIOException if failed to open the file
+     */
+    public static <T> Stream<T> replay(Path spillFile, Serializer<T> serializer) {
+        Objects.requireNonNull(serializer);
+        DataInputStream in;
+        try {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFile)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        var records = new RecordIterator<>(in, serializer);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED), false)
+                .onClose(records::close);
+    }
+
+    /**
+     * Forces the spilled elements to the storage, and closes the file.
+     * The elements added after that are rejected, rather than spilled to the file truncated again.
+     *
+     * @throws IOException if failed to close
+     */
+    @Override
+    public void close() throws IOException {
+        spillLock.lock();
+        try {
+            closed = true;
+            if (channel != null) {
+                region.force();
+                channel.close();
+                channel = null;
+                region = null;
+            }
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    private void spill(T t) {
+        byte[] bytes = serializer.serialize(t);
+        spillLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("dead letter sink is closed");
+            }
+            if (channel == null) {
+                channel = FileChannel.open(spillFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+                region = channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION_SIZE);
+            }
+            // the header and the zero header ending the records
+            int needed = Integer.BYTES + bytes.length + Integer.BYTES;
+            if (region.remaining() < needed) {
+                regionStart += region.position();
+                region.force();
+                region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, Math.max(REGION_SIZE, needed));
+            }
+            int header = region.position();
+            region.position(header + Integer.BYTES);
+            region.put(bytes);
+            region.putInt(header, bytes.length + 1);
+            spilled++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * Converts the elements to the bytes and back, to spill them to a file.
+     *
+     * @param <T> the type of the elements
+     */
+    public interface Serializer<T> {
+        /**
+         * Converts the element to the bytes.
+         *
+         * @param t the element
+         * @return the bytes
+         */
+        byte[] serialize(T t);
+
+        /**
+         * Converts the bytes back to the element.
+         *
+         * @param bytes the bytes
+         * @return the element
+         */
+        T deserialize(byte[] bytes);
+
+        /**
+         * Returns the serializer by the Java serialization, for the {@link java.io.Serializable} elements.
+         *
+         * @param <T> the type of the elements
+         * @return the serializer
+         */
+        static <T> Serializer<T> java() {
+            return new Serializer<>() {
+                @Override
+                public byte[] serialize(T t) {
+                    var bytes = new ByteArrayOutputStream();
+                    try (var out = new ObjectOutputStream(bytes)) {
+                        out.writeObject(t);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return bytes.toByteArray();
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T deserialize(byte[] bytes) {
+                    try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                        return (T) in.readObject();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } catch (ClassNotFoundException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * reads the records of a spilled file until the zero header or the end of the file
+     */
+    private static final class RecordIterator<T> implements Iterator<T> {
+        private final DataInputStream in;
+        private final Serializer<T> serializer;
+        private byte[] next;
+        private boolean done;
+
+        RecordIterator(DataInputStream in, Serializer<T> serializer) {
+            this.in = in;
+            this.serializer = serializer;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                next = readRecord();
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            byte[] bytes = next;
+            next = null;
+            return serializer.deserialize(bytes);
+        }
+
+        void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private byte[] readRecord() {
+            try {
+                int header = in.readInt();
+                if (header <= 0) {
+                    return null;
+                }
+                byte[] bytes = new byte[header - 1];
+                in.readFully(bytes);
+                return bytes;
+            } catch (EOFException e) {
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
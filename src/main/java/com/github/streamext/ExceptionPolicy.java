@@ -0,0 +1,263 @@
+package com.github.streamext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Declarative handling of the exceptions thrown by a function, by the exception type.
+ *
+ * <pre>{@code
+ *   ExceptionPolicy policy = ExceptionPolicy.builder()
+ *       .retry(IOException.class, 3, Duration.ofMillis(50))
+ *       .skip(ParseException.class)
+ *       .build();
+ *   stream.map(fallback(this::fetchAndParse, policy))
+ * }</pre>
+ *
+ * <p>
+ *  The rules are matched in the order they are added, and an exception matching
+ *  no rule is re-thrown as {@link FunctionExecutionException}. The rule for an exception
+ *  class is resolved once and cached in a {@link ClassValue}.
+ *
+ * <p>
+ *  The backoff before a retry grows exponentially from the initial delay up to the maximum delay,
+ *  with a random jitter of up to a half of it. The backoff parks the thread, which unmounts
+ *  a virtual thread from its carrier. An interrupted thread is not retried.
+ *
+ * <p>
+ *  A policy is thread-safe, and may be shared. Its counters are exposed by {@link #stats()}.
+ *
+ * @see StreamExt#fallback(ThrowableFunctionExt, ExceptionPolicy)
+ */
+public final class ExceptionPolicy {
+    /** the result of a skipped element */
+    static final Object SKIP = new Object();
+
+    private final List<Rule> rules;
+    private final ClassValue<Rule> dispatch = new ClassValue<>() {
+        @Override
+        protected Rule computeValue(Class<?> type) {
+            for (Rule rule : rules) {
+                if (rule.type.isAssignableFrom(type)) {
+                    return rule;
+                }
+            }
+            return Rule.RETHROW;
+        }
+    };
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder retryNanos = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    private ExceptionPolicy(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Returns a builder of a policy without rules.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the snapshot of the counters.
+     *
+     * @return the counters
+     */
+    public RetryStats stats() {
+        return new RetryStats(retries.sum(), retryNanos.sum(), recovered.sum(), exhausted.sum(), skipped.sum());
+    }
+
+    /**
+     * calls the function handling its exceptions by the rules
+     * @return the result, or {@link #SKIP} if skipped
+     * @throws FunctionExecutionException if re-thrown
+     */
+    <T, R, E extends Exception> Object call(ThrowableFunctionExt<T, R, E> function, T t) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                R result = function.apply(t);
+                if (attempt > 0) {
+                    recovered.increment();
+                }
+                return result;
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(function, e);
+                Rule rule = dispatch.get(e.getClass());
+                if (rule.action == Action.SKIP) {
+                    skipped.increment();
+                    return SKIP;
+                }
+                if (rule.action == Action.RETRY) {
+                    if (attempt < rule.maxRetries && backoff(rule.delayNanos(attempt))) {
+                        retries.increment();
+                        continue;
+                    }
+                    exhausted.increment();
+                }
+                throw StreamExt.getDefaultRethrowMode().wrap(e);
+            }
+        }
+    }
+
+    /**
+     * parks the thread for the delay
+     * @return {@code false} if interrupted
+     */
+    private boolean backoff(long delayNanos) {
+        long start = System.nanoTime();
+        long remaining = delayNanos;
+        try {
+            while (remaining > 0) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+                LockSupport.parkNanos(this, remaining);
+                remaining = delayNanos - (System.nanoTime() - start);
+            }
+            return !Thread.currentThread().isInterrupted();
+        } finally {
+            retryNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Builder of an {@link ExceptionPolicy}.
+     */
+    public static final class Builder {
+        private final List<Rule> rules = new ArrayList<>();
+
+        private Builder() {
+
+        }
+
+        /**
+         * Adds a rule which retries the call up to {@code maxRetries} times when it throws {@code type},
+         * with the exponential backoff from {@code initialDelay} up to a minute.
+         *
+         * @param type the type of the exception, including its subclasses
+         * @param maxRetries the maximum number of retries, not including the first call
+         * @param initialDelay the delay before the first retry
+         * @return this builder
+         */
+        public Builder retry(Class<? extends Exception> type, int maxRetries, Duration initialDelay) {
+            return retry(type, maxRetries, initialDelay, Duration.ofMinutes(1));
+        }
+
+        /**
+         * Adds a rule which retries the call up to {@code maxRetries} times when it throws {@code type},
+         * with the exponential backoff from {@code initialDelay} up to {@code maxDelay}.
+         *
+         * @param type the type of the exception, including its subclasses
+         * @param maxRetries the maximum number of retries, not including the first call
+         * @param initialDelay the delay before the first retry
+         * @param maxDelay the maximum delay before a retry
+         * @return this builder
+         */
+        public Builder retry(Class<? extends Exception> type, int maxRetries, Duration initialDelay, Duration maxDelay) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("maxRetries must not be negative: " + maxRetries);
+            }
+            long initialNanos = toNanos(initialDelay);
+            long maxNanos = toNanos(maxDelay);
+            if (maxNanos < initialNanos) {
+                throw new IllegalArgumentException("maxDelay must not be shorter than initialDelay: " + maxDelay);
+            }
+            rules.add(new Rule(Objects.requireNonNull(type), Action.RETRY, maxRetries, initialNanos, maxNanos));
+            return this;
+        }
+
+        /**
+         * Adds a rule which skips the element when the call throws {@code type}.
+         * A skipped element is mapped to {@code null} by {@link StreamExt#fallback(ThrowableFunctionExt, ExceptionPolicy)},
+         * and dropped by {@code mapE} of {@link com.github.streamext.extensions.StreamExtOps}.
+         *
+         * @param type the type of the exception, including its subclasses
+         * @return this builder
+         */
+        public Builder skip(Class<? extends Exception> type) {
+            rules.add(new Rule(Objects.requireNonNull(type), Action.SKIP, 0, 0L, 0L));
+            return this;
+        }
+
+        /**
+         * Adds a rule which re-throws the exception of {@code type} as {@link FunctionExecutionException},
+         * to exclude it from the broader rules added after.
+         *
+         * @param type the type of the exception, including its subclasses
+         * @return this builder
+         */
+        public Builder rethrow(Class<? extends Exception> type) {
+            rules.add(new Rule(Objects.requireNonNull(type), Action.RETHROW, 0, 0L, 0L));
+            return this;
+        }
+
+        /**
+         * Returns a new policy of the rules added so far.
+         *
+         * @return the policy
+         */
+        public ExceptionPolicy build() {
+            return new ExceptionPolicy(List.copyOf(rules));
+        }
+
+        private static long toNanos(Duration delay) {
+            Objects.requireNonNull(delay);
+            if (delay.isNegative()) {
+                throw new IllegalArgumentException("delay must not be negative: " + delay);
+            }
+            try {
+                return delay.toNanos();
+            } catch (ArithmeticException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+    }
+
+    private enum Action {
+        RETRY, SKIP, RETHROW
+    }
+
+    /**
+     * the handling of an exception type
+     */
+    private static final class Rule {
+        static final Rule RETHROW = new Rule(Exception.class, Action.RETHROW, 0, 0L, 0L);
+
+        final Class<? extends Exception> type;
+        final Action action;
+        final int maxRetries;
+        final long initialDelayNanos;
+        final long maxDelayNanos;
+
+        Rule(Class<? extends Exception> type, Action action, int maxRetries, long initialDelayNanos, long maxDelayNanos) {
+            this.type = type;
+            this.action = action;
+            this.maxRetries = maxRetries;
+            this.initialDelayNanos = initialDelayNanos;
+            this.maxDelayNanos = maxDelayNanos;
+        }
+
+        /**
+         * the delay before the retry, doubled from the initial delay per attempt, with the jitter of up to a half
+         */
+        long delayNanos(int attempt) {
+            long delay = attempt >= 62 || initialDelayNanos > (maxDelayNanos >> attempt)
+                    ? maxDelayNanos
+                    : initialDelayNanos << attempt;
+            long half = delay / 2;
+            return half == 0 ? delay : delay - half + ThreadLocalRandom.current().nextLong(half + 1);
+        }
+    }
+}
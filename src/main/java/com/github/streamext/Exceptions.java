@@ -0,0 +1,30 @@
+package com.github.streamext;
+
+/**
+ * helpers to propagate the exceptions thrown by a throwable function on another thread
+ */
+final class Exceptions {
+    private Exceptions() {
+
+    }
+
+    /**
+     * throws the given throwable as-is.
+     * The caller guarantees that a checked exception is an instance of {@code E}.
+     *
+     * @param throwable the throwable thrown by the function
+     * @param <E> the type of the checked exception the function throws
+     * @return nothing, declared to be used in a {@code throw} statement
+     * @throws E the checked exception
+     */
+    @SuppressWarnings("unchecked")
+    static <E extends Exception> RuntimeException propagate(Throwable throwable) throws E {
+        if (throwable instanceof RuntimeException re) {
+            throw re;
+        }
+        if (throwable instanceof Error error) {
+            throw error;
+        }
+        throw (E) throwable;
+    }
+}
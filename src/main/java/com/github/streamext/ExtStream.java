@@ -0,0 +1,396 @@
+package com.github.streamext;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.*;
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link Stream} which fuses the consecutive throwing {@code mapE}, {@code filterE} and {@code peekE}
+ * stages into a single stage, usable without Lombok.
+ *
+ * <p>
+ *  Chaining {@code mapE(...).filterE(...).mapE(...)} by {@code StreamExtOps} adds a pipeline stage,
+ *  a wrapper lambda and a {@code try} block per operation. {@code ExtStream} only records these
+ *  operations, and when another operation is called, runs them as one
+ *  {@link Stream#mapMulti(BiConsumer)} stage with a single {@code try} block per element.
+ *  The other operations are those of the standard stream; the intermediate ones return an
+ *  {@code ExtStream}, so the throwing operations after them are fused again.
+ *
+ * <pre>{@code
+ *   List<Order> orders = ExtStream.of(lines.stream())
+ *       .mapE(this::parse)
+ *       .filterQuiet(this::isValid)
+ *       .peekE(this::audit)
+ *       .toList();
+ * }</pre>
+ *
+ * <p>
+ *  As in {@code StreamExtOps}, {@code E} re-throws the exception as {@link FunctionExecutionException},
+ *  a fallback function handles it, and {@code Quiet} maps the element to {@code null},
+ *  drops it from {@code filterQuiet}, or ignores it in {@code peekQuiet}.
+ *
+ * @param <T> the type of the stream elements
+ */
+public final class ExtStream<T> implements Stream<T> {
+    private static final FusedStages<?, ?> NO_STAGES = new FusedStages<>(new FusedStages.Stage[0]);
+
+    private final Stream<?> source;
+    private final FusedStages<?, ?> stages;
+
+    private ExtStream(Stream<?> source, FusedStages<?, ?> stages) {
+        this.source = source;
+        this.stages = stages;
+    }
+
+    /**
+     * Returns the stream of the same elements as the source, which fuses the throwing stages.
+     *
+     * @param stream the source stream
+     * @param <T> the type of the stream elements
+     * @return the new stream
+     */
+    public static <T> ExtStream<T> of(Stream<T> stream) {
+        if (stream instanceof ExtStream<T> ext) {
+            return ext;
+        }
+        return new ExtStream<>(Objects.requireNonNull(stream), NO_STAGES);
+    }
+
+    /**
+     * Returns a stream of the results of the mapper.
+     * {@link FunctionExecutionException} is thrown when the mapper throws an exception.
+     *
+     * @param mapper the function that may throw an checked exception.
+     * @param <R> the type of the new stream elements
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     */
+    public <R,E extends Exception> ExtStream<R> mapE(ThrowableFunctionExt<T,R,E> mapper) {
+        return fuse(FusedStages.Stage.MAP, mapper, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <R,E extends Exception> ExtStream<R> mapE(ThrowableFunctionExt<T,R,E> mapper, BiFunction<T, Exception, R> fallbackFunction) {
+        Objects.requireNonNull(fallbackFunction);
+        return fuse(FusedStages.Stage.MAP, mapper, (t, e) -> fallbackFunction.apply((T) t, e));
+    }
+
+    public <R,E extends Exception> ExtStream<R> mapQuiet(ThrowableFunctionExt<T,R,E> mapper) {
+        return fuse(FusedStages.Stage.MAP, mapper, (t, e) -> null);
+    }
+
+    /**
+     * Returns a stream of the elements which match the predicate.
+     * {@link FunctionExecutionException} is thrown when the predicate throws an exception.
+     *
+     * @param predicate the predicate that may throw an checked exception.
+     * @param <E> the type of the throwable which the predicate throws
+     * @return the new stream
+     */
+    public <E extends Exception> ExtStream<T> filterE(ThrowablePredicateExt<T,E> predicate) {
+        return fuse(FusedStages.Stage.FILTER, predicate, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <E extends Exception> ExtStream<T> filterE(ThrowablePredicateExt<T,E> predicate, BiPredicate<T, Exception> fallbackFunction) {
+        Objects.requireNonNull(fallbackFunction);
+        return fuse(FusedStages.Stage.FILTER, predicate, (t, e) -> fallbackFunction.test((T) t, e) ? t : FusedStages.DROP);
+    }
+
+    public <E extends Exception> ExtStream<T> filterQuiet(ThrowablePredicateExt<T,E> predicate) {
+        return fuse(FusedStages.Stage.FILTER, predicate, (t, e) -> FusedStages.DROP);
+    }
+
+    /**
+     * Returns a stream of the same elements, performing the action on each element as it is consumed.
+     * {@link FunctionExecutionException} is thrown when the action throws an exception.
+     *
+     * @param action the action that may throw an checked exception.
+     * @param <E> the type of the throwable which the action throws
+     * @return the new stream
+     */
+    public <E extends Exception> ExtStream<T> peekE(ThrowableConsumerExt<T,E> action) {
+        return fuse(FusedStages.Stage.PEEK, action, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <E extends Exception> ExtStream<T> peekE(ThrowableConsumerExt<T,E> action, BiConsumer<T, Exception> fallbackFunction) {
+        Objects.requireNonNull(fallbackFunction);
+        return fuse(FusedStages.Stage.PEEK, action, (t, e) -> {
+            fallbackFunction.accept((T) t, e);
+            return t;
+        });
+    }
+
+    public <E extends Exception> ExtStream<T> peekQuiet(ThrowableConsumerExt<T,E> action) {
+        return fuse(FusedStages.Stage.PEEK, action, (t, e) -> t);
+    }
+
+    private <R> ExtStream<R> fuse(int kind, Object function, BiFunction<Object, Exception, Object> recovery) {
+        Objects.requireNonNull(function);
+        return new ExtStream<>(source, stages.with(new FusedStages.Stage(kind, function, recovery)));
+    }
+
+    /**
+     * Returns the standard stream running the fused stages.
+     *
+     * @return the standard stream
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Stream<T> toStream() {
+        if (stages.isEmpty()) {
+            return (Stream<T>) source;
+        }
+        return (Stream<T>) source.mapMulti((BiConsumer) stages);
+    }
+
+    // ////////////////////////
+    // Standard operations
+    // ////////////////////////
+
+    @Override
+    public ExtStream<T> filter(Predicate<? super T> predicate) {
+        return of(toStream().filter(predicate));
+    }
+
+    @Override
+    public <R> ExtStream<R> map(Function<? super T, ? extends R> mapper) {
+        return of(toStream().map(mapper));
+    }
+
+    @Override
+    public IntStream mapToInt(ToIntFunction<? super T> mapper) {
+        return toStream().mapToInt(mapper);
+    }
+
+    @Override
+    public LongStream mapToLong(ToLongFunction<? super T> mapper) {
+        return toStream().mapToLong(mapper);
+    }
+
+    @Override
+    public DoubleStream mapToDouble(ToDoubleFunction<? super T> mapper) {
+        return toStream().mapToDouble(mapper);
+    }
+
+    @Override
+    public <R> ExtStream<R> flatMap(Function<? super T, ? extends Stream<? extends R>> mapper) {
+        return of(toStream().flatMap(mapper));
+    }
+
+    @Override
+    public IntStream flatMapToInt(Function<? super T, ? extends IntStream> mapper) {
+        return toStream().flatMapToInt(mapper);
+    }
+
+    @Override
+    public LongStream flatMapToLong(Function<? super T, ? extends LongStream> mapper) {
+        return toStream().flatMapToLong(mapper);
+    }
+
+    @Override
+    public DoubleStream flatMapToDouble(Function<? super T, ? extends DoubleStream> mapper) {
+        return toStream().flatMapToDouble(mapper);
+    }
+
+    @Override
+    public <R> ExtStream<R> mapMulti(BiConsumer<? super T, ? super Consumer<R>> mapper) {
+        return of(toStream().mapMulti(mapper));
+    }
+
+    @Override
+    public IntStream mapMultiToInt(BiConsumer<? super T, ? super IntConsumer> mapper) {
+        return toStream().mapMultiToInt(mapper);
+    }
+
+    @Override
+    public LongStream mapMultiToLong(BiConsumer<? super T, ? super LongConsumer> mapper) {
+        return toStream().mapMultiToLong(mapper);
+    }
+
+    @Override
+    public DoubleStream mapMultiToDouble(BiConsumer<? super T, ? super DoubleConsumer> mapper) {
+        return toStream().mapMultiToDouble(mapper);
+    }
+
+    @Override
+    public ExtStream<T> distinct() {
+        return of(toStream().distinct());
+    }
+
+    @Override
+    public ExtStream<T> sorted() {
+        return of(toStream().sorted());
+    }
+
+    @Override
+    public ExtStream<T> sorted(Comparator<? super T> comparator) {
+        return of(toStream().sorted(comparator));
+    }
+
+    @Override
+    public ExtStream<T> peek(Consumer<? super T> action) {
+        return of(toStream().peek(action));
+    }
+
+    @Override
+    public ExtStream<T> limit(long maxSize) {
+        return of(toStream().limit(maxSize));
+    }
+
+    @Override
+    public ExtStream<T> skip(long n) {
+        return of(toStream().skip(n));
+    }
+
+    @Override
+    public ExtStream<T> takeWhile(Predicate<? super T> predicate) {
+        return of(toStream().takeWhile(predicate));
+    }
+
+    @Override
+    public ExtStream<T> dropWhile(Predicate<? super T> predicate) {
+        return of(toStream().dropWhile(predicate));
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        toStream().forEach(action);
+    }
+
+    @Override
+    public void forEachOrdered(Consumer<? super T> action) {
+        toStream().forEachOrdered(action);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return toStream().toArray();
+    }
+
+    @Override
+    public <A> A[] toArray(IntFunction<A[]> generator) {
+        return toStream().toArray(generator);
+    }
+
+    @Override
+    public T reduce(T identity, BinaryOperator<T> accumulator) {
+        return toStream().reduce(identity, accumulator);
+    }
+
+    @Override
+    public Optional<T> reduce(BinaryOperator<T> accumulator) {
+        return toStream().reduce(accumulator);
+    }
+
+    @Override
+    public <U> U reduce(U identity, BiFunction<U, ? super T, U> accumulator, BinaryOperator<U> combiner) {
+        return toStream().reduce(identity, accumulator, combiner);
+    }
+
+    @Override
+    public <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super T> accumulator, BiConsumer<R, R> combiner) {
+        return toStream().collect(supplier, accumulator, combiner);
+    }
+
+    @Override
+    public <R, A> R collect(Collector<? super T, A, R> collector) {
+        return toStream().collect(collector);
+    }
+
+    @Override
+    public List<T> toList() {
+        return toStream().toList();
+    }
+
+    @Override
+    public Optional<T> min(Comparator<? super T> comparator) {
+        return toStream().min(comparator);
+    }
+
+    @Override
+    public Optional<T> max(Comparator<? super T> comparator) {
+        return toStream().max(comparator);
+    }
+
+    @Override
+    public long count() {
+        return toStream().count();
+    }
+
+    @Override
+    public boolean anyMatch(Predicate<? super T> predicate) {
+        return toStream().anyMatch(predicate);
+    }
+
+    @Override
+    public boolean allMatch(Predicate<? super T> predicate) {
+        return toStream().allMatch(predicate);
+    }
+
+    @Override
+    public boolean noneMatch(Predicate<? super T> predicate) {
+        return toStream().noneMatch(predicate);
+    }
+
+    @Override
+    public Optional<T> findFirst() {
+        return toStream().findFirst();
+    }
+
+    @Override
+    public Optional<T> findAny() {
+        return toStream().findAny();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return toStream().iterator();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return toStream().spliterator();
+    }
+
+    // the flags apply to the whole pipeline, so the stages keep being fused
+
+    @Override
+    public boolean isParallel() {
+        return source.isParallel();
+    }
+
+    @Override
+    public ExtStream<T> sequential() {
+        return new ExtStream<>(source.sequential(), stages);
+    }
+
+    @Override
+    public ExtStream<T> parallel() {
+        return new ExtStream<>(source.parallel(), stages);
+    }
+
+    @Override
+    public ExtStream<T> unordered() {
+        return new ExtStream<>(source.unordered(), stages);
+    }
+
+    @Override
+    public ExtStream<T> onClose(Runnable closeHandler) {
+        return new ExtStream<>(source.onClose(closeHandler), stages);
+    }
+
+    @Override
+    public void close() {
+        source.close();
+    }
+}
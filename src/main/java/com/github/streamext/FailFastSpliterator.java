@@ -0,0 +1,110 @@
+package com.github.streamext;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} which stops all its splits as soon as an element fails.
+ *
+ * <p>
+ *  The exception thrown by the downstream stages for an element passes through
+ *  {@link #tryAdvance(Consumer)}. The first one is recorded as the primary failure and sets the
+ *  cancellation flag shared by the splits, which is checked before each element, so the
+ *  other workers finish only the elements they are processing. The exceptions thrown
+ *  concurrently by them are added to the primary failure as suppressed, up to
+ *  {@value #MAX_SUPPRESSED}, and the primary failure is thrown instead.
+ *
+ * @param <T> the type of the elements
+ */
+final class FailFastSpliterator<T> implements Spliterator<T> {
+    static final int MAX_SUPPRESSED = 16;
+
+    private final Spliterator<T> source;
+    private final Cancellation cancellation;
+
+    FailFastSpliterator(Spliterator<T> source) {
+        this(source, new Cancellation());
+    }
+
+    private FailFastSpliterator(Spliterator<T> source, Cancellation cancellation) {
+        this.source = source;
+        this.cancellation = cancellation;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (cancellation.cancelled) {
+            return false;
+        }
+        try {
+            return source.tryAdvance(action);
+        } catch (RuntimeException | Error e) {
+            throw cancellation.fail(e);
+        }
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        while (tryAdvance(action)) {
+            // checks the cancellation per element
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (cancellation.cancelled) {
+            return null;
+        }
+        Spliterator<T> prefix = source.trySplit();
+        return prefix == null ? null : new FailFastSpliterator<>(prefix, cancellation);
+    }
+
+    @Override
+    public long estimateSize() {
+        return cancellation.cancelled ? 0 : source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        // the size is not exact, as the rest may be cancelled
+        return source.characteristics() & ~(SIZED | SUBSIZED);
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        return source.getComparator();
+    }
+
+    /**
+     * the state shared by the splits
+     */
+    private static final class Cancellation {
+        volatile boolean cancelled;
+        private Throwable primary;
+        private final AtomicInteger suppressed = new AtomicInteger();
+
+        /**
+         * records the failure and cancels the splits
+         * @return the primary failure to be thrown
+         */
+        RuntimeException fail(Throwable e) {
+            Throwable first;
+            synchronized (this) {
+                if (primary == null) {
+                    primary = e;
+                }
+                first = primary;
+            }
+            cancelled = true;
+            if (first != e && suppressed.getAndIncrement() < MAX_SUPPRESSED) {
+                first.addSuppressed(e);
+            }
+            if (first instanceof Error error) {
+                throw error;
+            }
+            return (RuntimeException) first;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.streamext;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * {@link CheckpointStore} in a local file
+ */
+final class FileCheckpointStore implements CheckpointStore {
+    private static final int MAGIC = 0x53584350;
+
+    private final Path file;
+    private final Path temporary;
+
+    FileCheckpointStore(Path file) {
+        this.file = Objects.requireNonNull(file);
+        this.temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    @Override
+    public Checkpoint load() throws IOException {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("not a checkpoint file: " + file);
+            }
+            long watermark = in.readLong();
+            long[] words = new long[in.readInt()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = in.readLong();
+            }
+            return Checkpoint.of(watermark, words);
+        } catch (NoSuchFileException e) {
+            return Checkpoint.empty();
+        }
+    }
+
+    @Override
+    public void save(Checkpoint checkpoint) throws IOException {
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            long[] words = checkpoint.words();
+            out.writeInt(MAGIC);
+            out.writeLong(checkpoint.watermark());
+            out.writeInt(words.length);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public void clear() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(temporary);
+    }
+}
@@ -19,4 +19,19 @@ public class FunctionExecutionException extends RuntimeException {
     public FunctionExecutionException(Exception cause) {
         super(cause);
     }
+
+    /**
+     * Constructs an {@code FunctionExecutionException} with the specified cause,
+     * suppression enabled or disabled, and writable stack trace enabled or disabled.
+     * The detail message is set the same as {@link #FunctionExecutionException(Exception)}.
+     *
+     * @param  cause the cause (which is saved for later retrieval by the
+     *         {@link #getCause()} method)
+     * @param  enableSuppression whether or not suppression is enabled
+     * @param  writableStackTrace whether or not the stack trace is writable
+     * @see RethrowMode
+     */
+    protected FunctionExecutionException(Exception cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(cause == null ? null : cause.toString(), cause, enableSuppression, writableStackTrace);
+    }
 }
@@ -0,0 +1,103 @@
+package com.github.streamext;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Mapper of {@link java.util.stream.Stream#mapMulti(BiConsumer)} which runs the consecutive
+ * throwing stages of an {@link ExtStream} on an element in a single frame.
+ *
+ * <p>
+ *  The stages are run in a loop inside one {@code try} block, instead of a wrapper lambda
+ *  and a pipeline stage each. When a stage throws, its recovery gives the value passed to
+ *  the next stage, or drops the element, and the loop resumes from the next stage;
+ *  a stage without a recovery re-throws the exception as {@link FunctionExecutionException}.
+ *  The element is passed downstream out of the {@code try} block, so the exceptions of the
+ *  following operations are not handled by the stages.
+ *
+ * @param <T> the type of the source elements
+ * @param <R> the type of the elements after the stages
+ */
+final class FusedStages<T, R> implements BiConsumer<T, Consumer<R>> {
+    static final Object DROP = new Object();
+
+    private final Stage[] stages;
+
+    FusedStages(Stage[] stages) {
+        this.stages = stages;
+    }
+
+    FusedStages<T, ?> with(Stage stage) {
+        Stage[] appended = Arrays.copyOf(stages, stages.length + 1);
+        appended[stages.length] = stage;
+        return new FusedStages<>(appended);
+    }
+
+    boolean isEmpty() {
+        return stages.length == 0;
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void accept(T t, Consumer<R> downstream) {
+        Stage[] stages = this.stages;
+        int n = stages.length;
+        Object value = t;
+        int i = 0;
+        StreamExtSlowElement slow = StreamExtSlowElement.start();
+        try {
+            while (i < n) {
+                Stage stage = stages[i];
+                try {
+                    for (; i < n; i++) {
+                        stage = stages[i];
+                        switch (stage.kind) {
+                            case Stage.MAP -> value = ((ThrowableFunctionExt) stage.function).apply(value);
+                            case Stage.FILTER -> {
+                                if (!((ThrowablePredicateExt) stage.function).test(value)) {
+                                    return;
+                                }
+                            }
+                            default -> ((ThrowableConsumerExt) stage.function).accept(value);
+                        }
+                    }
+                } catch (Exception e) {
+                    StreamExtElementFailed.emit(stage.function, e);
+                    if (stage.recovery == null) {
+                        throw StreamExt.getDefaultRethrowMode().wrap(e);
+                    }
+                    value = stage.recovery.apply(value, e);
+                    if (value == DROP) {
+                        return;
+                    }
+                    i++;
+                }
+            }
+        } finally {
+            // the stages are timed together, and reported by the first one
+            StreamExtSlowElement.finish(slow, stages[0].function);
+        }
+        downstream.accept((R) value);
+    }
+
+    /**
+     * a throwing map, filter or peek, and how its exception is handled
+     */
+    static final class Stage {
+        static final int MAP = 0;
+        static final int FILTER = 1;
+        static final int PEEK = 2;
+
+        final int kind;
+        final Object function;
+        final BiFunction<Object, Exception, Object> recovery;
+
+        Stage(int kind, Object function, BiFunction<Object, Exception, Object> recovery) {
+            this.kind = kind;
+            this.function = function;
+            this.recovery = recovery;
+        }
+    }
+}
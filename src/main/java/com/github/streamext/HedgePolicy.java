@@ -0,0 +1,85 @@
+package com.github.streamext;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configuration of a {@link HedgedFunction}, immutable.
+ *
+ * <p>
+ *  The delay before a duplicate attempt is either fixed, or adaptive: a percentile of
+ *  the latencies observed by the function, starting from an initial delay until
+ *  enough latencies are observed.
+ *
+ * @see StreamExt#hedged(ThrowableFunctionExt, HedgePolicy)
+ */
+public final class HedgePolicy {
+    private final long delayNanos;
+    private final double percentile;
+    private final int maxAttempts;
+
+    private HedgePolicy(long delayNanos, double percentile, int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+        }
+        this.delayNanos = delayNanos;
+        this.percentile = percentile;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Returns a policy which starts a duplicate attempt when the previous one
+     * has not finished after the fixed delay.
+     *
+     * @param delay the delay before a duplicate attempt
+     * @param maxAttempts the maximum number of attempts for an element, including the first
+     * @return the policy
+     */
+    public static HedgePolicy after(Duration delay, int maxAttempts) {
+        return new HedgePolicy(toNanos(delay), Double.NaN, maxAttempts);
+    }
+
+    /**
+     * Returns a policy which starts a duplicate attempt when the previous one has not finished
+     * after the given percentile of the observed latencies, e.g. {@code 95.0} for p95.
+     *
+     * @param percentile the percentile of the observed latencies, between 0 and 100
+     * @param initialDelay the delay used until enough latencies are observed
+     * @param maxAttempts the maximum number of attempts for an element, including the first
+     * @return the policy
+     */
+    public static HedgePolicy atPercentile(double percentile, Duration initialDelay, int maxAttempts) {
+        if (!(percentile > 0.0 && percentile <= 100.0)) {
+            throw new IllegalArgumentException("percentile must be in (0, 100]: " + percentile);
+        }
+        return new HedgePolicy(toNanos(initialDelay), percentile, maxAttempts);
+    }
+
+    long delayNanos() {
+        return delayNanos;
+    }
+
+    boolean isAdaptive() {
+        return !Double.isNaN(percentile);
+    }
+
+    double percentile() {
+        return percentile;
+    }
+
+    int maxAttempts() {
+        return maxAttempts;
+    }
+
+    private static long toNanos(Duration delay) {
+        Objects.requireNonNull(delay);
+        if (delay.isNegative()) {
+            throw new IllegalArgumentException("delay must not be negative: " + delay);
+        }
+        try {
+            return delay.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
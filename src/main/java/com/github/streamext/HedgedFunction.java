@@ -0,0 +1,170 @@
+package com.github.streamext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ThrowableFunctionExt} which hedges the calls of another function to reduce the tail latency.
+ *
+ * <p>
+ *  Each call runs on a virtual thread. When it has not finished after the delay of the
+ *  {@link HedgePolicy}, a duplicate attempt is started, up to the maximum attempts.
+ *  The first attempt which succeeds wins, and the others are cancelled by interruption.
+ *  A failed attempt does not start another one by itself; when all the started attempts
+ *  have failed, the exception of the first one is thrown as is. The others are not attached
+ *  to it as suppressed, since the instances may be shared, for example by a cached failure.
+ *
+ * @param <T> the type of the input to the function
+ * @param <R> the type of the result of the function
+ * @param <E> the type of the exception may be thrown by the function
+ * @see StreamExt#hedged(ThrowableFunctionExt, HedgePolicy)
+ */
+public final class HedgedFunction<T, R, E extends Exception> implements ThrowableFunctionExt<T, R, E> {
+    private static final int SAMPLES = 1024;
+    private static final int RECOMPUTE_INTERVAL = 128;
+
+    private final ThrowableFunctionExt<T, R, E> function;
+    private final HedgePolicy policy;
+    private final LongAdder hedgesIssued = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+
+    private final AtomicLongArray latencies;
+    private final AtomicLong observed = new AtomicLong();
+    private volatile long delayNanos;
+
+    HedgedFunction(ThrowableFunctionExt<T, R, E> function, HedgePolicy policy) {
+        this.function = function;
+        this.policy = policy;
+        this.delayNanos = policy.delayNanos();
+        this.latencies = policy.isAdaptive() ? new AtomicLongArray(SAMPLES) : null;
+    }
+
+    @Override
+    public R apply(T t) throws E {
+        int maxAttempts = policy.maxAttempts();
+        BlockingQueue<Attempt> completions = new LinkedBlockingQueue<>();
+        List<Attempt> attempts = new ArrayList<>(maxAttempts);
+        Throwable failure = null;
+        int failed = 0;
+        try {
+            start(t, 0, attempts, completions);
+            for (;;) {
+                Attempt done;
+                if (attempts.size() < maxAttempts) {
+                    done = completions.poll(delayNanos, TimeUnit.NANOSECONDS);
+                    if (done == null) {
+                        hedgesIssued.increment();
+                        start(t, attempts.size(), attempts, completions);
+                        continue;
+                    }
+                } else {
+                    done = completions.take();
+                }
+                try {
+                    R result = done.get();
+                    if (done.index > 0) {
+                        hedgesWon.increment();
+                    }
+                    observe(System.nanoTime() - done.startNanos);
+                    return result;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                    if (++failed == attempts.size()) {
+                        // the function throws only E as a checked exception
+                        throw Exceptions.<E>propagate(failure);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw StreamExt.getDefaultRethrowMode().wrap(e);
+        } finally {
+            for (Attempt attempt : attempts) {
+                attempt.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of the duplicate attempts started.
+     *
+     * @return the number of hedges issued
+     */
+    public long hedgesIssued() {
+        return hedgesIssued.sum();
+    }
+
+    /**
+     * Returns the number of the calls won by a duplicate attempt, not by the first one.
+     *
+     * @return the number of hedges won
+     */
+    public long hedgesWon() {
+        return hedgesWon.sum();
+    }
+
+    /**
+     * Returns the current delay before a duplicate attempt.
+     *
+     * @return the delay in nanoseconds
+     */
+    public long currentDelayNanos() {
+        return delayNanos;
+    }
+
+    private void start(T t, int index, List<Attempt> attempts, BlockingQueue<Attempt> completions) {
+        var attempt = new Attempt(t, index, completions);
+        attempts.add(attempt);
+        VirtualThreads.start(attempt);
+    }
+
+    private void observe(long latencyNanos) {
+        if (latencies == null) {
+            return;
+        }
+        long n = observed.getAndIncrement();
+        latencies.set((int) (n % SAMPLES), latencyNanos);
+        if (n >= SAMPLES - 1 && n % RECOMPUTE_INTERVAL == 0) {
+            long[] sorted = new long[SAMPLES];
+            for (int i = 0; i < SAMPLES; i++) {
+                sorted[i] = latencies.get(i);
+            }
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(policy.percentile() / 100.0 * SAMPLES) - 1;
+            delayNanos = sorted[Math.max(0, rank)];
+        }
+    }
+
+    /**
+     * an attempt of the call, which notifies its completion to the caller
+     */
+    private final class Attempt extends FutureTask<R> {
+        final int index;
+        final long startNanos = System.nanoTime();
+        private final BlockingQueue<Attempt> completions;
+
+        Attempt(T t, int index, BlockingQueue<Attempt> completions) {
+            super(() -> function.apply(t));
+            this.index = index;
+            this.completions = completions;
+        }
+
+        @Override
+        protected void done() {
+            if (!isCancelled()) {
+                completions.add(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.github.streamext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} of the lines of a memory-mapped file, in an ASCII-compatible charset.
+ *
+ * <p>
+ *  A split covers a range of bytes, and owns the lines which start in it. It is split at the middle of
+ *  the range, moved to the next line start, so the splits are balanced by bytes regardless of the line lengths.
+ *  The range is mapped in windows, and a line is searched for {@code '\n'} 8 bytes at a time.
+ *  A line of single-byte characters is passed as a view of the mapped bytes without copying,
+ *  and the other lines are decoded, with the malformed input replaced.
+ *  The lines are terminated by {@code "\n"} or {@code "\r\n"}.
+ */
+final class MappedLineSpliterator implements Spliterator<CharSequence> {
+    private static final int WINDOW_SIZE = 1 << 26;
+    private static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE - 8;
+    private static final long MIN_SPLIT_SIZE = 1 << 20;
+    private static final int SCAN_SIZE = 8192;
+    private static final long NEWLINES = 0x0A0A0A0A0A0A0A0AL;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final Charset charset;
+    private final boolean latin1;
+    private long position;
+    private final long end;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private boolean highBitSeen;
+
+    MappedLineSpliterator(FileChannel channel, Charset charset) throws IOException {
+        this(channel, channel.size(), charset, 0, channel.size());
+    }
+
+    private MappedLineSpliterator(FileChannel channel, long fileSize, Charset charset, long position, long end) {
+        this.channel = channel;
+        this.fileSize = fileSize;
+        this.charset = charset;
+        this.latin1 = charset.equals(StandardCharsets.ISO_8859_1);
+        this.position = position;
+        this.end = end;
+    }
+
+    /**
+     * returns whether {@code '\n'} is a single byte which never appears in another character of the charset
+     */
+    static boolean supports(Charset charset) {
+        return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.ISO_8859_1)
+                || charset.equals(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super CharSequence> action) {
+        if (position >= end) {
+            return false;
+        }
+        action.accept(nextLine());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super CharSequence> action) {
+        while (position < end) {
+            action.accept(nextLine());
+        }
+    }
+
+    @Override
+    public Spliterator<CharSequence> trySplit() {
+        long remaining = end - position;
+        if (remaining < MIN_SPLIT_SIZE) {
+            return null;
+        }
+        long boundary = nextLineStart(position + remaining / 2);
+        if (boundary >= end) {
+            return null;
+        }
+        var prefix = new MappedLineSpliterator(channel, fileSize, charset, position, boundary);
+        position = boundary;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        // the number of the bytes, as the number of the lines is not known
+        return end - position;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    private CharSequence nextLine() {
+        long lineStart = position;
+        int from = map(lineStart, 1);
+        for (;;) {
+            int newline = indexOfNewline(window, from, window.limit());
+            if (newline >= 0) {
+                position = windowStart + newline + 1;
+                return line(from, newline > from && window.get(newline - 1) == '\r' ? newline - 1 : newline);
+            }
+            if (windowStart + window.limit() == fileSize) {
+                position = fileSize;
+                return line(from, window.limit());
+            }
+            int scanned = window.limit() - from;
+            if (scanned >= MAX_WINDOW_SIZE / 2) {
+                throw StreamExt.getDefaultRethrowMode().wrap(new IOException("line too long at " + lineStart));
+            }
+            // the line continues after the window
+            from = map(lineStart, 2 * scanned + 1);
+        }
+    }
+
+    private CharSequence line(int from, int to) {
+        if (latin1 || !highBitSeen) {
+            return new MappedLine(window, from, to - from);
+        }
+        byte[] bytes = new byte[to - from];
+        window.get(from, bytes);
+        return new String(bytes, charset);
+    }
+
+    /**
+     * maps a window starting at the position, unless the current one has at least
+     * the given number of bytes from the position, or all of them to the end of the file
+     * @return the offset of the position in the window
+     */
+    private int map(long at, int minSize) {
+        if (window != null && at >= windowStart) {
+            long available = windowStart + window.limit() - at;
+            if (available >= minSize || (available > 0 && windowStart + window.limit() == fileSize)) {
+                return (int) (at - windowStart);
+            }
+        }
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, at, Math.min(Math.max(minSize, WINDOW_SIZE), fileSize - at));
+        } catch (IOException e) {
+            throw StreamExt.getDefaultRethrowMode().wrap(e);
+        }
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        windowStart = at;
+        return 0;
+    }
+
+    /**
+     * finds {@code '\n'} by 8 bytes at a time, and records whether a byte before it has the high bit
+     */
+    private int indexOfNewline(ByteBuffer buffer, int from, int to) {
+        long high = 0;
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long word = buffer.getLong(i);
+            long x = word ^ NEWLINES;
+            long found = (x - LOW_BITS) & ~x & HIGH_BITS;
+            if (found != 0) {
+                int index = Long.numberOfTrailingZeros(found) >>> 3;
+                high |= word & HIGH_BITS & ((1L << (index << 3)) - 1);
+                highBitSeen = high != 0;
+                return i + index;
+            }
+            high |= word & HIGH_BITS;
+        }
+        for (; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n') {
+                highBitSeen = high != 0;
+                return i;
+            }
+            high |= b & 0x80;
+        }
+        highBitSeen = high != 0;
+        return -1;
+    }
+
+    /**
+     * returns the position after the first {@code '\n'} at or after the position, or the end of the file
+     */
+    private long nextLineStart(long at) {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+        try {
+            for (long offset = at; offset < fileSize; offset += buffer.limit()) {
+                buffer.clear();
+                if (channel.read(buffer, offset) < 0) {
+                    break;
+                }
+                buffer.flip();
+                for (int i = 0; i < buffer.limit(); i++) {
+                    if (buffer.get(i) == '\n') {
+                        return offset + i + 1;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw StreamExt.getDefaultRethrowMode().wrap(e);
+        }
+        return fileSize;
+    }
+
+    /**
+     * a line of single-byte characters, viewing the mapped bytes
+     */
+    static final class MappedLine implements CharSequence {
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final int length;
+
+        MappedLine(ByteBuffer buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            Objects.checkIndex(index, length);
+            return (char) (buffer.get(offset + index) & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            Objects.checkFromToIndex(start, end, length);
+            return new MappedLine(buffer, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            byte[] bytes = new byte[length];
+            buffer.get(offset, bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
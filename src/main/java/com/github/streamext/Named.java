@@ -0,0 +1,101 @@
+package com.github.streamext;
+
+/**
+ * a function named by {@link StreamExt#named(String, ThrowableFunctionExt)} and so on.
+ * it records its calls unless the metrics is {@link StreamExtMetrics#noop()},
+ * and its name is reported by the JFR events of the wrappers.
+ */
+abstract class Named {
+    final String name;
+    /** {@code null} when the metrics is {@link StreamExtMetrics#noop()} */
+    final StreamExtMetrics.Recorder recorder;
+
+    private Named(String name, StreamExtMetrics metrics) {
+        this.name = name;
+        this.recorder = metrics == StreamExtMetrics.noop() ? null : metrics.recorder(name);
+    }
+
+    /**
+     * returns the name of the function, or the name of its class if not named
+     * @param function the function
+     * @return the name
+     */
+    static String nameOf(Object function) {
+        return function instanceof Named named ? named.name : function.getClass().getName();
+    }
+
+    static final class OfFunction<T, R, E extends Exception> extends Named implements ThrowableFunctionExt<T, R, E> {
+        private final ThrowableFunctionExt<T, R, E> function;
+
+        OfFunction(String name, StreamExtMetrics metrics, ThrowableFunctionExt<T, R, E> function) {
+            super(name, metrics);
+            this.function = function;
+        }
+
+        @Override
+        public R apply(T t) throws E {
+            if (recorder == null) {
+                return function.apply(t);
+            }
+            long start = System.nanoTime();
+            try {
+                R result = function.apply(t);
+                recorder.recordSuccess(System.nanoTime() - start);
+                return result;
+            } catch (Exception e) {
+                recorder.recordFailure(e.getClass(), System.nanoTime() - start);
+                throw e;
+            }
+        }
+    }
+
+    static final class OfPredicate<T, E extends Exception> extends Named implements ThrowablePredicateExt<T, E> {
+        private final ThrowablePredicateExt<T, E> predicate;
+
+        OfPredicate(String name, StreamExtMetrics metrics, ThrowablePredicateExt<T, E> predicate) {
+            super(name, metrics);
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean test(T t) throws E {
+            if (recorder == null) {
+                return predicate.test(t);
+            }
+            long start = System.nanoTime();
+            try {
+                boolean result = predicate.test(t);
+                recorder.recordSuccess(System.nanoTime() - start);
+                return result;
+            } catch (Exception e) {
+                recorder.recordFailure(e.getClass(), System.nanoTime() - start);
+                throw e;
+            }
+        }
+    }
+
+    static final class OfConsumer<T, E extends Exception> extends Named implements ThrowableConsumerExt<T, E> {
+        private final ThrowableConsumerExt<T, E> consumer;
+
+        OfConsumer(String name, StreamExtMetrics metrics, ThrowableConsumerExt<T, E> consumer) {
+            super(name, metrics);
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void accept(T t) throws E {
+            if (recorder == null) {
+                consumer.accept(t);
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                consumer.accept(t);
+                recorder.recordSuccess(System.nanoTime() - start);
+            } catch (Exception e) {
+                recorder.recordFailure(e.getClass(), System.nanoTime() - start);
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.streamext;
+
+/**
+ * the {@link StreamExtMetrics} which records nothing
+ */
+final class NoopMetrics implements StreamExtMetrics, StreamExtMetrics.Recorder {
+    static final NoopMetrics INSTANCE = new NoopMetrics();
+
+    private NoopMetrics() {
+
+    }
+
+    @Override
+    public Recorder recorder(String name) {
+        return this;
+    }
+
+    @Override
+    public void recordSuccess(long nanos) {
+        // do nothing
+    }
+
+    @Override
+    public void recordFailure(Class<? extends Exception> type, long nanos) {
+        // do nothing
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.streamext;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configuration of a {@link RateLimiter}, immutable.
+ *
+ * <pre>{@code
+ *   RateLimitPolicy.perSecond(50)
+ *       .burst(10)
+ *       .adaptiveOn(TooManyRequestsException.class)
+ *       .recoverIn(Duration.ofSeconds(30))
+ * }</pre>
+ *
+ * <p>
+ *  The calls are spaced evenly at the rate, and up to {@code burst} calls may run at once
+ *  after an idle period. In the adaptive mode, when a call throws the throttled exception type,
+ *  the rate is halved, down to a tenth of the configured one, and goes back linearly to it
+ *  over the recovery duration while no call is throttled.
+ *
+ * @see StreamExt#rateLimited(ThrowableFunctionExt, RateLimiter)
+ */
+public final class RateLimitPolicy {
+    private static final long DEFAULT_RECOVERY_NANOS = Duration.ofSeconds(10).toNanos();
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final Class<? extends Exception> throttledType;
+    private final long recoveryNanos;
+
+    private RateLimitPolicy(double permitsPerSecond, int burst, Class<? extends Exception> throttledType, long recoveryNanos) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.throttledType = throttledType;
+        this.recoveryNanos = recoveryNanos;
+    }
+
+    /**
+     * Returns a policy which permits the calls at the given rate, without a burst.
+     *
+     * @param permitsPerSecond the number of the calls per second
+     * @return the policy
+     */
+    public static RateLimitPolicy perSecond(double permitsPerSecond) {
+        if (!(permitsPerSecond > 0 && Double.isFinite(permitsPerSecond))) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        }
+        return new RateLimitPolicy(permitsPerSecond, 1, null, DEFAULT_RECOVERY_NANOS);
+    }
+
+    /**
+     * Returns a copy of this policy which permits the given number of calls at once after an idle period.
+     *
+     * @param burst the maximum number of the calls at once
+     * @return the policy
+     */
+    public RateLimitPolicy burst(int burst) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be positive: " + burst);
+        }
+        return new RateLimitPolicy(permitsPerSecond, burst, throttledType, recoveryNanos);
+    }
+
+    /**
+     * Returns a copy of this policy which lowers the rate when a call throws the given exception type,
+     * such as the one thrown for an HTTP 429 response.
+     *
+     * @param throttledType the type of the exception thrown when the call is throttled
+     * @return the policy
+     */
+    public RateLimitPolicy adaptiveOn(Class<? extends Exception> throttledType) {
+        return new RateLimitPolicy(permitsPerSecond, burst, Objects.requireNonNull(throttledType), recoveryNanos);
+    }
+
+    /**
+     * Returns a copy of this policy which takes the given duration to go back to the configured rate
+     * after a call is throttled, 10 seconds by default.
+     *
+     * @param duration the recovery duration
+     * @return the policy
+     */
+    public RateLimitPolicy recoverIn(Duration duration) {
+        Objects.requireNonNull(duration);
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive: " + duration);
+        }
+        long nanos;
+        try {
+            nanos = duration.toNanos();
+        } catch (ArithmeticException e) {
+            nanos = Long.MAX_VALUE;
+        }
+        return new RateLimitPolicy(permitsPerSecond, burst, throttledType, nanos);
+    }
+
+    double permitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    int burst() {
+        return burst;
+    }
+
+    Class<? extends Exception> throttledType() {
+        return throttledType;
+    }
+
+    long recoveryNanos() {
+        return recoveryNanos;
+    }
+}
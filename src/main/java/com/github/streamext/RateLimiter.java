@@ -0,0 +1,164 @@
+package com.github.streamext;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Rate limiter shared by the calls of the functions wrapped by {@link StreamExt#rateLimited(ThrowableFunctionExt, RateLimiter)}.
+ *
+ * <p>
+ *  It is a token bucket in the form of the generic cell rate algorithm: a single timestamp, the theoretical
+ *  arrival time of the next call, is advanced by a CAS for each call, which reserves the time slot of the call.
+ *  The caller is parked by {@link LockSupport} until its slot without spinning, which unmounts a virtual thread.
+ *  In the adaptive mode, a throttled call halves the rate once for the calls started at the same rate,
+ *  so the calls in flight throttled together do not lower it repeatedly.
+ *
+ * @see RateLimitPolicy
+ */
+public final class RateLimiter {
+    private final RateLimitPolicy policy;
+    private final double minimumRate;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicReference<Throttle> throttle = new AtomicReference<>();
+
+    private RateLimiter(RateLimitPolicy policy) {
+        this.policy = policy;
+        this.minimumRate = policy.permitsPerSecond() / 10;
+    }
+
+    /**
+     * Returns a new rate limiter.
+     *
+     * @param policy the configuration
+     * @return the rate limiter
+     */
+    public static RateLimiter of(RateLimitPolicy policy) {
+        return new RateLimiter(Objects.requireNonNull(policy));
+    }
+
+    /**
+     * Waits for a permit, parking the current thread until its time slot.
+     *
+     * @throws InterruptedException if interrupted while waiting, with the permit consumed
+     */
+    public void acquire() throws InterruptedException {
+        long deadline = reserve(System.nanoTime());
+        for (;;) {
+            long wait = deadline - System.nanoTime();
+            if (wait <= 0) {
+                return;
+            }
+            LockSupport.parkNanos(this, wait);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Takes a permit if available without waiting.
+     *
+     * @return {@code true} if taken
+     */
+    public boolean tryAcquire() {
+        for (;;) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            long interval = intervalNanos(now);
+            long start = Math.max(arrival, now);
+            if (start - toleranceNanos(interval) > now) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + interval)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the current rate, lowered from the configured one while recovering from a throttled call.
+     *
+     * @return the number of the calls per second
+     */
+    public double currentRate() {
+        return rate(System.nanoTime());
+    }
+
+    <T,R,E extends Exception> R call(ThrowableFunctionExt<T, R, E> function, T t) throws E {
+        try {
+            acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FunctionExecutionException(e);
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return function.apply(t);
+        } catch (Exception e) {
+            if (policy.throttledType() != null && policy.throttledType().isInstance(e)) {
+                throttled(startNanos);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * reserves the next time slot
+     * @return the time in {@link System#nanoTime()} at which the call may start
+     */
+    private long reserve(long now) {
+        for (;;) {
+            long arrival = theoreticalArrival.get();
+            long interval = intervalNanos(now);
+            long start = Math.max(arrival, now);
+            if (theoreticalArrival.compareAndSet(arrival, start + interval)) {
+                return start - toleranceNanos(interval);
+            }
+        }
+    }
+
+    private long toleranceNanos(long intervalNanos) {
+        return intervalNanos * (policy.burst() - 1);
+    }
+
+    private long intervalNanos(long now) {
+        return (long) (TimeUnit.SECONDS.toNanos(1) / rate(now));
+    }
+
+    private double rate(long now) {
+        Throttle last = throttle.get();
+        double configured = policy.permitsPerSecond();
+        if (last == null) {
+            return configured;
+        }
+        double recovered = (double) (now - last.atNanos) / policy.recoveryNanos();
+        if (recovered >= 1) {
+            return configured;
+        }
+        return last.rate + (configured - last.rate) * recovered;
+    }
+
+    private void throttled(long startNanos) {
+        for (;;) {
+            Throttle last = throttle.get();
+            if (last != null && startNanos - last.atNanos < 0) {
+                // started before the last decrease, at the higher rate
+                return;
+            }
+            long now = System.nanoTime();
+            var lowered = new Throttle(Math.max(minimumRate, rate(now) / 2), now);
+            if (throttle.compareAndSet(last, lowered)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * the rate lowered at the time
+     */
+    private record Throttle(double rate, long atNanos) {
+    }
+}
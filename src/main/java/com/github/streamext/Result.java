@@ -0,0 +1,130 @@
+package com.github.streamext;
+
+import java.util.List;
+
+/**
+ * Result of applying a throwable function to an element: either the value, or the exception with the element.
+ *
+ * <pre>{@code
+ *   switch (result) {
+ *       case Result.Success<Path, byte[]> s -> upload(s.value());
+ *       case Result.Failure<Path, byte[]> f -> log.warn("failed to read {}", f.element(), f.exception());
+ *   }
+ * }</pre>
+ *
+ * <p>
+ *  A success holds only the value, so it costs a single small object per element.
+ *
+ * @param <T> the type of the source element
+ * @param <R> the type of the value
+ * @see StreamExt#attempt(ThrowableFunctionExt)
+ */
+public sealed interface Result<T, R> {
+    /**
+     * Returns a success of the value.
+     *
+     * @param value the value
+     * @param <T> the type of the source element
+     * @param <R> the type of the value
+     * @return the success
+     */
+    static <T, R> Result<T, R> success(R value) {
+        return new Success<>(value);
+    }
+
+    /**
+     * Returns a failure of the element.
+     *
+     * @param element the source element
+     * @param exception the exception thrown for the element
+     * @param <T> the type of the source element
+     * @param <R> the type of the value
+     * @return the failure
+     */
+    static <T, R> Result<T, R> failure(T element, Exception exception) {
+        return new Failure<>(element, exception);
+    }
+
+    /**
+     * Returns whether this is a success.
+     *
+     * @return {@code true} if a success
+     */
+    boolean isSuccess();
+
+    /**
+     * Returns the value of a success.
+     *
+     * @return the value
+     * @throws FunctionExecutionException if a failure, with its exception as the cause
+     */
+    R get();
+
+    /**
+     * Returns the value of a success, or the given value if a failure.
+     *
+     * @param other the value for a failure
+     * @return the value
+     */
+    R orElse(R other);
+
+    /**
+     * A successful result.
+     *
+     * @param value the value returned by the function
+     * @param <T> the type of the source element
+     * @param <R> the type of the value
+     */
+    record Success<T, R>(R value) implements Result<T, R> {
+        @Override
+        public boolean isSuccess() {
+            return true;
+        }
+
+        @Override
+        public R get() {
+            return value;
+        }
+
+        @Override
+        public R orElse(R other) {
+            return value;
+        }
+    }
+
+    /**
+     * A failed result.
+     *
+     * @param element the source element
+     * @param exception the exception thrown by the function
+     * @param <T> the type of the source element
+     * @param <R> the type of the value
+     */
+    record Failure<T, R>(T element, Exception exception) implements Result<T, R> {
+        @Override
+        public boolean isSuccess() {
+            return false;
+        }
+
+        @Override
+        public R get() {
+            throw StreamExt.getDefaultRethrowMode().wrap(exception);
+        }
+
+        @Override
+        public R orElse(R other) {
+            return other;
+        }
+    }
+
+    /**
+     * The results split into the values of the successes and the failures.
+     *
+     * @param successes the values of the successes
+     * @param failures the failures
+     * @param <T> the type of the source element
+     * @param <R> the type of the value
+     */
+    record Partition<T, R>(List<R> successes, List<Failure<T, R>> failures) {
+    }
+}
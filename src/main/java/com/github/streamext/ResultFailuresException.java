@@ -0,0 +1,40 @@
+package com.github.streamext;
+
+import java.util.List;
+
+/**
+ * Exception thrown when some elements failed, carrying all their failures.
+ * The cause is the exception of the first failure.
+ * The failures hold the elements, so they are not serialized, and only their count is kept.
+ */
+public class ResultFailuresException extends FunctionExecutionException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<Result.Failure<?, ?>> failures;
+    private final int failureCount;
+
+    /**
+     * Constructs an {@code ResultFailuresException} of the failures.
+     *
+     * @param failures the failures, not empty
+     */
+    public ResultFailuresException(List<? extends Result.Failure<?, ?>> failures) {
+        super(failures.get(0).exception());
+        this.failures = List.copyOf(failures);
+        this.failureCount = failures.size();
+    }
+
+    /**
+     * Returns the failures of the elements.
+     *
+     * @return the unmodifiable list of the failures, empty after deserialized
+     */
+    public List<Result.Failure<?, ?>> getFailures() {
+        return failures != null ? failures : List.of();
+    }
+
+    @Override
+    public String getMessage() {
+        return failureCount + " element(s) failed, the first: " + super.getMessage();
+    }
+}
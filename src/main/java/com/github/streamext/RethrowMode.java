@@ -0,0 +1,52 @@
+package com.github.streamext;
+
+/**
+ * How {@link FunctionExecutionException} is constructed when
+ * a {@code rethrow} wrapper of {@link StreamExt} re-throws an exception.
+ *
+ * <p>
+ *  Filling in the stack trace is the dominant cost of throwing an exception.
+ *  The wrapped cause already has the useful stack trace, so pipelines in which
+ *  many elements fail can skip capturing it for the wrapper.
+ *
+ * @see StreamExt#setDefaultRethrowMode(RethrowMode)
+ * @see StreamExt#rethrow(ThrowableFunctionExt, RethrowMode)
+ */
+public enum RethrowMode {
+    /**
+     * captures the stack trace of the {@link FunctionExecutionException}. This is the default.
+     */
+    STACK_TRACE(true, true),
+
+    /**
+     * does not capture the stack trace of the {@link FunctionExecutionException}.
+     */
+    STACKLESS(true, false),
+
+    /**
+     * does not capture the stack trace of the {@link FunctionExecutionException},
+     * and disables the suppression, so {@link Throwable#addSuppressed(Throwable)} is a no-op.
+     */
+    LIGHTWEIGHT(false, false);
+
+    private final boolean enableSuppression;
+    private final boolean writableStackTrace;
+
+    RethrowMode(boolean enableSuppression, boolean writableStackTrace) {
+        this.enableSuppression = enableSuppression;
+        this.writableStackTrace = writableStackTrace;
+    }
+
+    /**
+     * Wraps the exception by {@link FunctionExecutionException} in this mode.
+     *
+     * @param cause the exception to be wrapped
+     * @return the {@link FunctionExecutionException}
+     */
+    public FunctionExecutionException wrap(Exception cause) {
+        if (this == STACK_TRACE) {
+            return new FunctionExecutionException(cause);
+        }
+        return new FunctionExecutionException(cause, enableSuppression, writableStackTrace);
+    }
+}
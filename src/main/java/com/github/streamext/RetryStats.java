@@ -0,0 +1,71 @@
+package com.github.streamext;
+
+/**
+ * Snapshot of the counters of an {@link ExceptionPolicy}.
+ */
+public final class RetryStats {
+    private final long retryCount;
+    private final long retryNanos;
+    private final long recoveredCount;
+    private final long exhaustedCount;
+    private final long skipCount;
+
+    RetryStats(long retryCount, long retryNanos, long recoveredCount, long exhaustedCount, long skipCount) {
+        this.retryCount = retryCount;
+        this.retryNanos = retryNanos;
+        this.recoveredCount = recoveredCount;
+        this.exhaustedCount = exhaustedCount;
+        this.skipCount = skipCount;
+    }
+
+    /**
+     * Returns the number of retried calls, not including the first calls.
+     *
+     * @return the number of retries
+     */
+    public long retryCount() {
+        return retryCount;
+    }
+
+    /**
+     * Returns the total time spent in the backoff before the retries.
+     *
+     * @return the backoff time in nanoseconds
+     */
+    public long retryNanos() {
+        return retryNanos;
+    }
+
+    /**
+     * Returns the number of elements which succeeded after retried.
+     *
+     * @return the number of recovered elements
+     */
+    public long recoveredCount() {
+        return recoveredCount;
+    }
+
+    /**
+     * Returns the number of elements which still failed after the maximum retries.
+     *
+     * @return the number of exhausted elements
+     */
+    public long exhaustedCount() {
+        return exhaustedCount;
+    }
+
+    /**
+     * Returns the number of elements skipped.
+     *
+     * @return the number of skipped elements
+     */
+    public long skipCount() {
+        return skipCount;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryStats{retryCount=" + retryCount + ", retryNanos=" + retryNanos + ", recoveredCount=" + recoveredCount
+                + ", exhaustedCount=" + exhaustedCount + ", skipCount=" + skipCount + "}";
+    }
+}
@@ -1,6 +1,33 @@
 package com.github.streamext;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeoutException;
 import java.util.function.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for the Java Standard Stream API passing through checked exception.
@@ -22,6 +49,12 @@ import java.util.function.*;
  *  etc, see
  *  {@link #rethrow(ThrowableConsumerExt)} )}, {@link #quiet(ThrowableConsumerExt)} and
  *  {@link #fallback(ThrowableConsumerExt, BiConsumer)}
+ *
+ * <p>
+ *  for the primitive specializations, passing to {@link java.util.stream.IntStream},
+ *  {@link java.util.stream.LongStream} or {@link java.util.stream.DoubleStream} without boxing, see
+ *  {@link #rethrowLongPredicate(ThrowableLongPredicateExt)}, {@link #rethrowLongUnaryOperator(ThrowableLongUnaryOperatorExt)},
+ *  {@link #rethrowToLong(ThrowableToLongFunctionExt)} and so on
  */
 public class StreamExt {
     /**
@@ -31,6 +64,54 @@ public class StreamExt {
 
     }
 
+    private static volatile RethrowMode defaultRethrowMode = RethrowMode.STACK_TRACE;
+
+    /**
+     * Sets how the {@code rethrow} wrappers without an explicit {@link RethrowMode}
+     * construct {@link FunctionExecutionException}.
+     * The mode is read when an exception is re-thrown, so it applies also to
+     * the wrappers created before.
+     *
+     * @param mode the default mode, {@link RethrowMode#STACK_TRACE} initially.
+     */
+    public static void setDefaultRethrowMode(RethrowMode mode) {
+        defaultRethrowMode = Objects.requireNonNull(mode);
+    }
+
+    /**
+     * Returns the default {@link RethrowMode}.
+     *
+     * @return the default mode
+     * @see #setDefaultRethrowMode(RethrowMode)
+     */
+    public static RethrowMode getDefaultRethrowMode() {
+        return defaultRethrowMode;
+    }
+
+    private static volatile StreamExtMetrics globalMetrics = StreamExtMetrics.noop();
+
+    /**
+     * Sets the metrics which records the calls of the functions named by
+     * {@link #named(String, ThrowableFunctionExt)} and so on.
+     * The metrics is read when a function is named, so it does not apply to
+     * the functions named before.
+     *
+     * @param metrics the global metrics, {@link StreamExtMetrics#noop()} initially.
+     */
+    public static void setGlobalMetrics(StreamExtMetrics metrics) {
+        globalMetrics = Objects.requireNonNull(metrics);
+    }
+
+    /**
+     * Returns the global {@link StreamExtMetrics}.
+     *
+     * @return the global metrics
+     * @see #setGlobalMetrics(StreamExtMetrics)
+     */
+    public static StreamExtMetrics getGlobalMetrics() {
+        return globalMetrics;
+    }
+
     // ////////////////////////////////////////////////////////////////////////
     // Predicate extensions
     // ////////////////////////////////////////////////////////////////////////
@@ -48,6 +129,21 @@ public class StreamExt {
         return fallback(throwablePredicate, (t,e) -> rethrowActually(e));
     }
 
+    /**
+     * Converts {@link ThrowablePredicateExt} to {@link Predicate}.
+     * {@link FunctionExecutionException} constructed in the given mode thrown
+     * when throwablePredicate throws an exception.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param mode how the {@link FunctionExecutionException} is constructed.
+     * @param <T> the type of object which the predicate tests.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the {@link Predicate}
+     */
+    public static <T, E extends Exception> Predicate<T> rethrow(ThrowablePredicateExt<T, E> throwablePredicate, RethrowMode mode) {
+        return fallback(throwablePredicate, (t,e) -> rethrowActually(e, mode));
+    }
+
     /**
      * Converts {@link ThrowablePredicateExt} to {@link Predicate}.
      * When throwablePredicate throws an exception, returns a {@link Predicate}
@@ -77,14 +173,37 @@ public class StreamExt {
      */
     public static <T,E extends Exception> Predicate<T> fallback(ThrowablePredicateExt<T, E> throwablePredicate, BiPredicate<T, Exception> fallbackFunction) {
         return t -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            boolean result;
             try {
-                return throwablePredicate.test(t);
+                result = throwablePredicate.test(t);
             } catch (Exception e) {
-                return fallbackFunction.test(t, e);
+                StreamExtElementFailed.emit(throwablePredicate, e);
+                result = fallbackFunction.test(t, e);
             }
+            StreamExtSlowElement.finish(slow, throwablePredicate);
+            return result;
         };
     }
 
+    /**
+     * Converts {@link ThrowablePredicateExt} to {@link Predicate}.
+     * When throwablePredicate throws an exception, it is handled by the rules of {@code policy}:
+     * retried, skipped by evaluating {@code false}, or re-thrown as {@link FunctionExecutionException}.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param policy the rules to handle the exceptions by the type.
+     * @param <T> the type of object which the predicate tests.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the {@link Predicate}
+     */
+    public static <T,E extends Exception> Predicate<T> fallback(ThrowablePredicateExt<T, E> throwablePredicate, ExceptionPolicy policy) {
+        Objects.requireNonNull(throwablePredicate);
+        Objects.requireNonNull(policy);
+        ThrowableFunctionExt<T, Boolean, E> function = throwablePredicate::test;
+        return t -> policy.call(function, t) == Boolean.TRUE;
+    }
+
     // ////////////////////////
     // Mapper extensions
     // ////////////////////////
@@ -103,6 +222,22 @@ public class StreamExt {
         return fallback(throwableMapper, (t,e) -> rethrowActually(e));
     }
 
+    /**
+     * Converts {@link ThrowableFunctionExt} to {@link Function}.
+     * {@link FunctionExecutionException} constructed in the given mode thrown
+     * when throwableMapper throws an exception.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param mode how the {@link FunctionExecutionException} is constructed.
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link Function}
+     */
+    public static <T,R,E extends Exception> Function<T,R> rethrow(ThrowableFunctionExt<T, R, E> throwableMapper, RethrowMode mode) {
+        return fallback(throwableMapper, (t,e) -> rethrowActually(e, mode));
+    }
+
     /**
      * Converts {@link ThrowableFunctionExt} to {@link Function}.
      * When throwableMapper throws an exception, returns a {@link Function}
@@ -136,11 +271,97 @@ public class StreamExt {
      */
     public static <T,R,E extends Exception> Function<T,R> fallback(ThrowableFunctionExt<T, R, E> throwableMapper, BiFunction<T, Exception, R> fallbackFunction) {
         return t -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            R result;
+            try {
+                result = throwableMapper.apply(t);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableMapper, e);
+                result = fallbackFunction.apply(t, e);
+            }
+            StreamExtSlowElement.finish(slow, throwableMapper);
+            return result;
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableFunctionExt} to {@link Function}.
+     * When throwableMapper throws an exception, it is handled by the rules of {@code policy}:
+     * retried, skipped by mapping to {@code null}, or re-thrown as {@link FunctionExecutionException}.
+     *
+     * <pre>{@code
+     *   ExceptionPolicy policy = ExceptionPolicy.builder()
+     *       .retry(IOException.class, 3, Duration.ofMillis(50))
+     *       .skip(ParseException.class)
+     *       .build();
+     *   stream.map(fallback(this::fetchAndParse, policy))
+     * }</pre>
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param policy the rules to handle the exceptions by the type.
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link Function}
+     * @see #skipping(ThrowableFunctionExt, ExceptionPolicy)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T,R,E extends Exception> Function<T,R> fallback(ThrowableFunctionExt<T, R, E> throwableMapper, ExceptionPolicy policy) {
+        Objects.requireNonNull(throwableMapper);
+        Objects.requireNonNull(policy);
+        return t -> {
+            Object result = policy.call(throwableMapper, t);
+            return result == ExceptionPolicy.SKIP ? null : (R) result;
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableFunctionExt} to a mapper of {@link java.util.stream.Stream#mapMulti(BiConsumer)}
+     * which handles the exceptions by the rules of {@code policy}, and emits nothing for the skipped elements.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param policy the rules to handle the exceptions by the type.
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the mapper for {@code mapMulti}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T,R,E extends Exception> BiConsumer<T, Consumer<R>> skipping(ThrowableFunctionExt<T, R, E> throwableMapper, ExceptionPolicy policy) {
+        Objects.requireNonNull(throwableMapper);
+        Objects.requireNonNull(policy);
+        return (t, downstream) -> {
+            Object result = policy.call(throwableMapper, t);
+            if (result != ExceptionPolicy.SKIP) {
+                downstream.accept((R) result);
+            }
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableFunctionExt} to a mapper of {@link java.util.stream.Stream#mapMulti(BiConsumer)}
+     * which passes the failed elements to {@code onFailure}, such as a {@link DeadLetterSink}, and emits nothing for them.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param onFailure the consumer of the failed element and the exception.
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the mapper for {@code mapMulti}
+     */
+    public static <T,R,E extends Exception> BiConsumer<T, Consumer<R>> skipping(ThrowableFunctionExt<T, R, E> throwableMapper, BiConsumer<? super T, Exception> onFailure) {
+        Objects.requireNonNull(throwableMapper);
+        Objects.requireNonNull(onFailure);
+        return (t, downstream) -> {
+            R result;
             try {
-                return throwableMapper.apply(t);
+                result = throwableMapper.apply(t);
             } catch (Exception e) {
-                return fallbackFunction.apply(t, e);
+                StreamExtElementFailed.emit(throwableMapper, e);
+                onFailure.accept(t, e);
+                return;
             }
+            downstream.accept(result);
         };
     }
 
@@ -161,6 +382,21 @@ public class StreamExt {
         return fallback(throwableConsumer, (t,e) -> rethrowActually(e));
     }
 
+    /**
+     * Converts {@link ThrowableConsumerExt} to {@link Consumer}.
+     * {@link FunctionExecutionException} constructed in the given mode thrown
+     * when throwableConsumer throws an exception.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param mode how the {@link FunctionExecutionException} is constructed.
+     * @param <T> the type of object which the consumer accept.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the {@link Consumer}
+     */
+    public static <T,E extends Exception> Consumer<T> rethrow(ThrowableConsumerExt<T, E> throwableConsumer, RethrowMode mode) {
+        return fallback(throwableConsumer, (t,e) -> rethrowActually(e, mode));
+    }
+
     /**
      * Converts {@link ThrowableConsumerExt} to {@link Consumer}.
      * When throwableConsumer throws an exception, returns a {@link Consumer}
@@ -191,22 +427,1873 @@ public class StreamExt {
      */
     public static <T,E extends Exception> Consumer<T> fallback(ThrowableConsumerExt<T, E> throwableConsumer, BiConsumer<T, Exception> fallbackFunction) {
         return t -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
             try {
                 throwableConsumer.accept(t);
             } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableConsumer, e);
                 fallbackFunction.accept(t, e);
             }
+            StreamExtSlowElement.finish(slow, throwableConsumer);
         };
     }
 
     /**
-     * throws the {@link FunctionExecutionException}
-     * @param e exception to be wrapped.
-     * @param <R> the type of result
-     * @return nothing
+     * Converts {@link ThrowableConsumerExt} to {@link Consumer}.
+     * When throwableConsumer throws an exception, it is handled by the rules of {@code policy}:
+     * retried, skipped, or re-thrown as {@link FunctionExecutionException}.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param policy the rules to handle the exceptions by the type.
+     * @param <T> the type of object which the consumer accept.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the {@link Consumer}
      */
-    private static <R> R rethrowActually(Exception e) {
-        throw new FunctionExecutionException(e);
+    public static <T,E extends Exception> Consumer<T> fallback(ThrowableConsumerExt<T, E> throwableConsumer, ExceptionPolicy policy) {
+        Objects.requireNonNull(throwableConsumer);
+        Objects.requireNonNull(policy);
+        ThrowableFunctionExt<T, Void, E> function = t -> {
+            throwableConsumer.accept(t);
+            return null;
+        };
+        return t -> policy.call(function, t);
+    }
+
+    // ////////////////////////////////////////////////////////////////////////
+    // Primitive extensions
+    // ////////////////////////////////////////////////////////////////////////
+
+    // ////////////////////////
+    // int extensions
+    // ////////////////////////
+
+    /**
+     * Converts {@link ThrowableIntPredicateExt} to {@link IntPredicate}.
+     * {@link FunctionExecutionException} thrown when throwablePredicate throws an exception.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the {@link IntPredicate}
+     */
+    public static <E extends Exception> IntPredicate rethrowIntPredicate(ThrowableIntPredicateExt<E> throwablePredicate) {
+        return fallbackIntPredicate(throwablePredicate, (v,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableIntPredicateExt} to {@link IntPredicate}.
+     * When throwablePredicate throws an exception, returns a {@link IntPredicate}
+     * which evaluates {@code false}.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the {@link IntPredicate}
+     */
+    public static <E extends Exception> IntPredicate quietIntPredicate(ThrowableIntPredicateExt<E> throwablePredicate) {
+        return fallbackIntPredicate(throwablePredicate, (v,e) -> false);
+    }
+
+    /**
+     * Converts {@link ThrowableIntPredicateExt} to {@link IntPredicate}.
+     * When throwablePredicate throws an exception, {@code fallbackFunction} is called to
+     * handle the exception. The value is boxed only when the exception is thrown.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwablePredicate throws an exception.
+     *                         It has to return a boolean result from two input parameters:
+     *                         the source value and the exception.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the {@link IntPredicate}
+     */
+    public static <E extends Exception> IntPredicate fallbackIntPredicate(ThrowableIntPredicateExt<E> throwablePredicate, BiPredicate<Integer, Exception> fallbackFunction) {
+        return v -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            boolean result;
+            try {
+                result = throwablePredicate.test(v);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwablePredicate, e);
+                result = fallbackFunction.test(v, e);
+            }
+            StreamExtSlowElement.finish(slow, throwablePredicate);
+            return result;
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableIntUnaryOperatorExt} to {@link IntUnaryOperator}.
+     * {@link FunctionExecutionException} thrown when throwableOperator throws an exception.
+     *
+     * @param throwableOperator the operator that may throw an checked exception.
+     * @param <E> the type of exception which the operator throws.
+     * @return the {@link IntUnaryOperator}
+     */
+    public static <E extends Exception> IntUnaryOperator rethrowIntUnaryOperator(ThrowableIntUnaryOperatorExt<E> throwableOperator) {
+        return fallbackIntUnaryOperator(throwableOperator, (v,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableIntUnaryOperatorExt} to {@link IntUnaryOperator}.
+     * When throwableOperator throws an exception, returns a {@link IntUnaryOperator}
+     * which maps to {@code 0}.
+     *
+     * @param throwableOperator the operator that may throw an checked exception.
+     * @param <E> the type of exception which the operator throws.
+     * @return the {@link IntUnaryOperator}
+     */
+    public static <E extends Exception> IntUnaryOperator quietIntUnaryOperator(ThrowableIntUnaryOperatorExt<E> throwableOperator) {
+        return fallbackIntUnaryOperator(throwableOperator, (v,e) -> 0);
+    }
+
+    /**
+     * Converts {@link ThrowableIntUnaryOperatorExt} to {@link IntUnaryOperator}.
+     * When throwableOperator throws an exception, {@code fallbackFunction} is called to
+     * handle the exception. The value is boxed only when the exception is thrown.
+     *
+     * @param throwableOperator the operator that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwableOperator throws an exception.
+     *                         It has to map a alternate result from two input parameters:
+     *                         the source value and the exception.
+     * @param <E> the type of exception which the operator throws.
+     * @return the {@link IntUnaryOperator}
+     */
+    public static <E extends Exception> IntUnaryOperator fallbackIntUnaryOperator(ThrowableIntUnaryOperatorExt<E> throwableOperator, ToIntBiFunction<Integer, Exception> fallbackFunction) {
+        return v -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            int result;
+            try {
+                result = throwableOperator.applyAsInt(v);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableOperator, e);
+                result = fallbackFunction.applyAsInt(v, e);
+            }
+            StreamExtSlowElement.finish(slow, throwableOperator);
+            return result;
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableIntFunctionExt} to {@link IntFunction}.
+     * {@link FunctionExecutionException} thrown when throwableMapper throws an exception.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link IntFunction}
+     */
+    public static <R,E extends Exception> IntFunction<R> rethrowInt(ThrowableIntFunctionExt<R, E> throwableMapper) {
+        return fallbackInt(throwableMapper, (v,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableIntFunctionExt} to {@link IntFunction}.
+     * When throwableMapper throws an exception, returns a {@link IntFunction}
+     * which maps to {@code null}.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link IntFunction}
+     */
+    public static <R,E extends Exception> IntFunction<R> quietInt(ThrowableIntFunctionExt<R, E> throwableMapper) {
+        return fallbackInt(throwableMapper, (v,e) -> null);
+    }
+
+    /**
+     * Converts {@link ThrowableIntFunctionExt} to {@link IntFunction}.
+     * When throwableMapper throws an exception, {@code fallbackFunction} is called to
+     * handle the exception. The value is boxed only when the exception is thrown.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwableMapper throws an exception.
+     *                         It has to map a alternate result from two input parameters:
+     *                         the source value and the exception.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link IntFunction}
+     */
+    public static <R,E extends Exception> IntFunction<R> fallbackInt(ThrowableIntFunctionExt<R, E> throwableMapper, BiFunction<Integer, Exception, R> fallbackFunction) {
+        return v -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            R result;
+            try {
+                result = throwableMapper.apply(v);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableMapper, e);
+                result = fallbackFunction.apply(v, e);
+            }
+            StreamExtSlowElement.finish(slow, throwableMapper);
+            return result;
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableIntConsumerExt} to {@link IntConsumer}.
+     * {@link FunctionExecutionException} thrown when throwableConsumer throws an exception.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the {@link IntConsumer}
+     */
+    public static <E extends Exception> IntConsumer rethrowIntConsumer(ThrowableIntConsumerExt<E> throwableConsumer) {
+        return fallbackIntConsumer(throwableConsumer, (v,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableIntConsumerExt} to {@link IntConsumer}.
+     * When throwableConsumer throws an exception, returns a {@link IntConsumer}
+     * which do nothing.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the {@link IntConsumer}
+     */
+    public static <E extends Exception> IntConsumer quietIntConsumer(ThrowableIntConsumerExt<E> throwableConsumer) {
+        return fallbackIntConsumer(throwableConsumer, StreamExt::noop);
+    }
+
+    /**
+     * Converts {@link ThrowableIntConsumerExt} to {@link IntConsumer}.
+     * When throwableConsumer throws an exception, {@code fallbackFunction} is called to
+     * handle the exception. The value is boxed only when the exception is thrown.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwableConsumer throws an exception.
+     *                         It takes two input parameters: the source value and the exception.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the {@link IntConsumer}
+     */
+    public static <E extends Exception> IntConsumer fallbackIntConsumer(ThrowableIntConsumerExt<E> throwableConsumer, BiConsumer<Integer, Exception> fallbackFunction) {
+        return v -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            try {
+                throwableConsumer.accept(v);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableConsumer, e);
+                fallbackFunction.accept(v, e);
+            }
+            StreamExtSlowElement.finish(slow, throwableConsumer);
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableToIntFunctionExt} to {@link ToIntFunction}.
+     * {@link FunctionExecutionException} thrown when throwableMapper throws an exception.
+     *
+     * <p>
+     *  This is not an overload of {@link #rethrow(ThrowableFunctionExt)}, because a method reference
+     *  such as {@code String::length} would resolve to this instead, and could no longer be
+     *  passed to {@link java.util.stream.Stream#map(Function)}.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <T> the type of object which the function apply.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link ToIntFunction}
+     */
+    public static <T,E extends Exception> ToIntFunction<T> rethrowToInt(ThrowableToIntFunctionExt<T, E> throwableMapper) {
+        return fallbackToInt(throwableMapper, (t,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableToIntFunctionExt} to {@link ToIntFunction}.
+     * When throwableMapper throws an exception, returns a {@link ToIntFunction}
+     * which maps to {@code 0}.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <T> the type of object which the function apply.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link ToIntFunction}
+     */
+    public static <T,E extends Exception> ToIntFunction<T> quietToInt(ThrowableToIntFunctionExt<T, E> throwableMapper) {
+        return fallbackToInt(throwableMapper, (t,e) -> 0);
+    }
+
+    /**
+     * Converts {@link ThrowableToIntFunctionExt} to {@link ToIntFunction}.
+     * When throwableMapper throws an exception, {@code fallbackFunction} is called to
+     * handle the exception.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwableMapper throws an exception.
+     *                         It has to map a alternate result from two input parameters:
+     *                         the source element and the exception.
+     * @param <T> the type of object which the function apply.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link ToIntFunction}
+     */
+    public static <T,E extends Exception> ToIntFunction<T> fallbackToInt(ThrowableToIntFunctionExt<T, E> throwableMapper, ToIntBiFunction<T, Exception> fallbackFunction) {
+        return t -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            int result;
+            try {
+                result = throwableMapper.applyAsInt(t);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableMapper, e);
+                result = fallbackFunction.applyAsInt(t, e);
+            }
+            StreamExtSlowElement.finish(slow, throwableMapper);
+            return result;
+        };
+    }
+
+    // ////////////////////////
+    // long extensions
+    // ////////////////////////
+
+    /**
+     * Converts {@link ThrowableLongPredicateExt} to {@link LongPredicate}.
+     * {@link FunctionExecutionException} thrown when throwablePredicate throws an exception.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the {@link LongPredicate}
+     */
+    public static <E extends Exception> LongPredicate rethrowLongPredicate(ThrowableLongPredicateExt<E> throwablePredicate) {
+        return fallbackLongPredicate(throwablePredicate, (v,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableLongPredicateExt} to {@link LongPredicate}.
+     * When throwablePredicate throws an exception, returns a {@link LongPredicate}
+     * which evaluates {@code false}.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the {@link LongPredicate}
+     */
+    public static <E extends Exception> LongPredicate quietLongPredicate(ThrowableLongPredicateExt<E> throwablePredicate) {
+        return fallbackLongPredicate(throwablePredicate, (v,e) -> false);
+    }
+
+    /**
+     * Converts {@link ThrowableLongPredicateExt} to {@link LongPredicate}.
+     * When throwablePredicate throws an exception, {@code fallbackFunction} is called to
+     * handle the exception. The value is boxed only when the exception is thrown.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwablePredicate throws an exception.
+     *                         It has to return a boolean result from two input parameters:
+     *                         the source value and the exception.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the {@link LongPredicate}
+     */
+    public static <E extends Exception> LongPredicate fallbackLongPredicate(ThrowableLongPredicateExt<E> throwablePredicate, BiPredicate<Long, Exception> fallbackFunction) {
+        return v -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            boolean result;
+            try {
+                result = throwablePredicate.test(v);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwablePredicate, e);
+                result = fallbackFunction.test(v, e);
+            }
+            StreamExtSlowElement.finish(slow, throwablePredicate);
+            return result;
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableLongUnaryOperatorExt} to {@link LongUnaryOperator}.
+     * {@link FunctionExecutionException} thrown when throwableOperator throws an exception.
+     *
+     * @param throwableOperator the operator that may throw an checked exception.
+     * @param <E> the type of exception which the operator throws.
+     * @return the {@link LongUnaryOperator}
+     */
+    public static <E extends Exception> LongUnaryOperator rethrowLongUnaryOperator(ThrowableLongUnaryOperatorExt<E> throwableOperator) {
+        return fallbackLongUnaryOperator(throwableOperator, (v,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableLongUnaryOperatorExt} to {@link LongUnaryOperator}.
+     * When throwableOperator throws an exception, returns a {@link LongUnaryOperator}
+     * which maps to {@code 0}.
+     *
+     * @param throwableOperator the operator that may throw an checked exception.
+     * @param <E> the type of exception which the operator throws.
+     * @return the {@link LongUnaryOperator}
+     */
+    public static <E extends Exception> LongUnaryOperator quietLongUnaryOperator(ThrowableLongUnaryOperatorExt<E> throwableOperator) {
+        return fallbackLongUnaryOperator(throwableOperator, (v,e) -> 0);
+    }
+
+    /**
+     * Converts {@link ThrowableLongUnaryOperatorExt} to {@link LongUnaryOperator}.
+     * When throwableOperator throws an exception, {@code fallbackFunction} is called to
+     * handle the exception. The value is boxed only when the exception is thrown.
+     *
+     * @param throwableOperator the operator that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwableOperator throws an exception.
+     *                         It has to map a alternate result from two input parameters:
+     *                         the source value and the exception.
+     * @param <E> the type of exception which the operator throws.
+     * @return the {@link LongUnaryOperator}
+     */
+    public static <E extends Exception> LongUnaryOperator fallbackLongUnaryOperator(ThrowableLongUnaryOperatorExt<E> throwableOperator, ToLongBiFunction<Long, Exception> fallbackFunction) {
+        return v -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            long result;
+            try {
+                result = throwableOperator.applyAsLong(v);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableOperator, e);
+                result = fallbackFunction.applyAsLong(v, e);
+            }
+            StreamExtSlowElement.finish(slow, throwableOperator);
+            return result;
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableLongFunctionExt} to {@link LongFunction}.
+     * {@link FunctionExecutionException} thrown when throwableMapper throws an exception.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link LongFunction}
+     */
+    public static <R,E extends Exception> LongFunction<R> rethrowLong(ThrowableLongFunctionExt<R, E> throwableMapper) {
+        return fallbackLong(throwableMapper, (v,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableLongFunctionExt} to {@link LongFunction}.
+     * When throwableMapper throws an exception, returns a {@link LongFunction}
+     * which maps to {@code null}.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link LongFunction}
+     */
+    public static <R,E extends Exception> LongFunction<R> quietLong(ThrowableLongFunctionExt<R, E> throwableMapper) {
+        return fallbackLong(throwableMapper, (v,e) -> null);
+    }
+
+    /**
+     * Converts {@link ThrowableLongFunctionExt} to {@link LongFunction}.
+     * When throwableMapper throws an exception, {@code fallbackFunction} is called to
+     * handle the exception. The value is boxed only when the exception is thrown.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwableMapper throws an exception.
+     *                         It has to map a alternate result from two input parameters:
+     *                         the source value and the exception.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link LongFunction}
+     */
+    public static <R,E extends Exception> LongFunction<R> fallbackLong(ThrowableLongFunctionExt<R, E> throwableMapper, BiFunction<Long, Exception, R> fallbackFunction) {
+        return v -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            R result;
+            try {
+                result = throwableMapper.apply(v);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableMapper, e);
+                result = fallbackFunction.apply(v, e);
+            }
+            StreamExtSlowElement.finish(slow, throwableMapper);
+            return result;
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableLongConsumerExt} to {@link LongConsumer}.
+     * {@link FunctionExecutionException} thrown when throwableConsumer throws an exception.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the {@link LongConsumer}
+     */
+    public static <E extends Exception> LongConsumer rethrowLongConsumer(ThrowableLongConsumerExt<E> throwableConsumer) {
+        return fallbackLongConsumer(throwableConsumer, (v,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableLongConsumerExt} to {@link LongConsumer}.
+     * When throwableConsumer throws an exception, returns a {@link LongConsumer}
+     * which do nothing.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the {@link LongConsumer}
+     */
+    public static <E extends Exception> LongConsumer quietLongConsumer(ThrowableLongConsumerExt<E> throwableConsumer) {
+        return fallbackLongConsumer(throwableConsumer, StreamExt::noop);
+    }
+
+    /**
+     * Converts {@link ThrowableLongConsumerExt} to {@link LongConsumer}.
+     * When throwableConsumer throws an exception, {@code fallbackFunction} is called to
+     * handle the exception. The value is boxed only when the exception is thrown.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwableConsumer throws an exception.
+     *                         It takes two input parameters: the source value and the exception.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the {@link LongConsumer}
+     */
+    public static <E extends Exception> LongConsumer fallbackLongConsumer(ThrowableLongConsumerExt<E> throwableConsumer, BiConsumer<Long, Exception> fallbackFunction) {
+        return v -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            try {
+                throwableConsumer.accept(v);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableConsumer, e);
+                fallbackFunction.accept(v, e);
+            }
+            StreamExtSlowElement.finish(slow, throwableConsumer);
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableToLongFunctionExt} to {@link ToLongFunction}.
+     * {@link FunctionExecutionException} thrown when throwableMapper throws an exception.
+     *
+     * <p>
+     *  This is not an overload of {@link #rethrow(ThrowableFunctionExt)}, because a method reference
+     *  such as {@code String::length} would resolve to this instead, and could no longer be
+     *  passed to {@link java.util.stream.Stream#map(Function)}.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <T> the type of object which the function apply.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link ToLongFunction}
+     */
+    public static <T,E extends Exception> ToLongFunction<T> rethrowToLong(ThrowableToLongFunctionExt<T, E> throwableMapper) {
+        return fallbackToLong(throwableMapper, (t,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableToLongFunctionExt} to {@link ToLongFunction}.
+     * When throwableMapper throws an exception, returns a {@link ToLongFunction}
+     * which maps to {@code 0}.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <T> the type of object which the function apply.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link ToLongFunction}
+     */
+    public static <T,E extends Exception> ToLongFunction<T> quietToLong(ThrowableToLongFunctionExt<T, E> throwableMapper) {
+        return fallbackToLong(throwableMapper, (t,e) -> 0);
+    }
+
+    /**
+     * Converts {@link ThrowableToLongFunctionExt} to {@link ToLongFunction}.
+     * When throwableMapper throws an exception, {@code fallbackFunction} is called to
+     * handle the exception.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwableMapper throws an exception.
+     *                         It has to map a alternate result from two input parameters:
+     *                         the source element and the exception.
+     * @param <T> the type of object which the function apply.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link ToLongFunction}
+     */
+    public static <T,E extends Exception> ToLongFunction<T> fallbackToLong(ThrowableToLongFunctionExt<T, E> throwableMapper, ToLongBiFunction<T, Exception> fallbackFunction) {
+        return t -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            long result;
+            try {
+                result = throwableMapper.applyAsLong(t);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableMapper, e);
+                result = fallbackFunction.applyAsLong(t, e);
+            }
+            StreamExtSlowElement.finish(slow, throwableMapper);
+            return result;
+        };
+    }
+
+    // ////////////////////////
+    // double extensions
+    // ////////////////////////
+
+    /**
+     * Converts {@link ThrowableDoublePredicateExt} to {@link DoublePredicate}.
+     * {@link FunctionExecutionException} thrown when throwablePredicate throws an exception.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the {@link DoublePredicate}
+     */
+    public static <E extends Exception> DoublePredicate rethrowDoublePredicate(ThrowableDoublePredicateExt<E> throwablePredicate) {
+        return fallbackDoublePredicate(throwablePredicate, (v,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableDoublePredicateExt} to {@link DoublePredicate}.
+     * When throwablePredicate throws an exception, returns a {@link DoublePredicate}
+     * which evaluates {@code false}.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the {@link DoublePredicate}
+     */
+    public static <E extends Exception> DoublePredicate quietDoublePredicate(ThrowableDoublePredicateExt<E> throwablePredicate) {
+        return fallbackDoublePredicate(throwablePredicate, (v,e) -> false);
+    }
+
+    /**
+     * Converts {@link ThrowableDoublePredicateExt} to {@link DoublePredicate}.
+     * When throwablePredicate throws an exception, {@code fallbackFunction} is called to
+     * handle the exception. The value is boxed only when the exception is thrown.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwablePredicate throws an exception.
+     *                         It has to return a boolean result from two input parameters:
+     *                         the source value and the exception.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the {@link DoublePredicate}
+     */
+    public static <E extends Exception> DoublePredicate fallbackDoublePredicate(ThrowableDoublePredicateExt<E> throwablePredicate, BiPredicate<Double, Exception> fallbackFunction) {
+        return v -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            boolean result;
+            try {
+                result = throwablePredicate.test(v);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwablePredicate, e);
+                result = fallbackFunction.test(v, e);
+            }
+            StreamExtSlowElement.finish(slow, throwablePredicate);
+            return result;
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableDoubleUnaryOperatorExt} to {@link DoubleUnaryOperator}.
+     * {@link FunctionExecutionException} thrown when throwableOperator throws an exception.
+     *
+     * @param throwableOperator the operator that may throw an checked exception.
+     * @param <E> the type of exception which the operator throws.
+     * @return the {@link DoubleUnaryOperator}
+     */
+    public static <E extends Exception> DoubleUnaryOperator rethrowDoubleUnaryOperator(ThrowableDoubleUnaryOperatorExt<E> throwableOperator) {
+        return fallbackDoubleUnaryOperator(throwableOperator, (v,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableDoubleUnaryOperatorExt} to {@link DoubleUnaryOperator}.
+     * When throwableOperator throws an exception, returns a {@link DoubleUnaryOperator}
+     * which maps to {@code 0.0}.
+     *
+     * @param throwableOperator the operator that may throw an checked exception.
+     * @param <E> the type of exception which the operator throws.
+     * @return the {@link DoubleUnaryOperator}
+     */
+    public static <E extends Exception> DoubleUnaryOperator quietDoubleUnaryOperator(ThrowableDoubleUnaryOperatorExt<E> throwableOperator) {
+        return fallbackDoubleUnaryOperator(throwableOperator, (v,e) -> 0.0);
+    }
+
+    /**
+     * Converts {@link ThrowableDoubleUnaryOperatorExt} to {@link DoubleUnaryOperator}.
+     * When throwableOperator throws an exception, {@code fallbackFunction} is called to
+     * handle the exception. The value is boxed only when the exception is thrown.
+     *
+     * @param throwableOperator the operator that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwableOperator throws an exception.
+     *                         It has to map a alternate result from two input parameters:
+     *                         the source value and the exception.
+     * @param <E> the type of exception which the operator throws.
+     * @return the {@link DoubleUnaryOperator}
+     */
+    public static <E extends Exception> DoubleUnaryOperator fallbackDoubleUnaryOperator(ThrowableDoubleUnaryOperatorExt<E> throwableOperator, ToDoubleBiFunction<Double, Exception> fallbackFunction) {
+        return v -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            double result;
+            try {
+                result = throwableOperator.applyAsDouble(v);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableOperator, e);
+                result = fallbackFunction.applyAsDouble(v, e);
+            }
+            StreamExtSlowElement.finish(slow, throwableOperator);
+            return result;
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableDoubleFunctionExt} to {@link DoubleFunction}.
+     * {@link FunctionExecutionException} thrown when throwableMapper throws an exception.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link DoubleFunction}
+     */
+    public static <R,E extends Exception> DoubleFunction<R> rethrowDouble(ThrowableDoubleFunctionExt<R, E> throwableMapper) {
+        return fallbackDouble(throwableMapper, (v,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableDoubleFunctionExt} to {@link DoubleFunction}.
+     * When throwableMapper throws an exception, returns a {@link DoubleFunction}
+     * which maps to {@code null}.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link DoubleFunction}
+     */
+    public static <R,E extends Exception> DoubleFunction<R> quietDouble(ThrowableDoubleFunctionExt<R, E> throwableMapper) {
+        return fallbackDouble(throwableMapper, (v,e) -> null);
+    }
+
+    /**
+     * Converts {@link ThrowableDoubleFunctionExt} to {@link DoubleFunction}.
+     * When throwableMapper throws an exception, {@code fallbackFunction} is called to
+     * handle the exception. The value is boxed only when the exception is thrown.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwableMapper throws an exception.
+     *                         It has to map a alternate result from two input parameters:
+     *                         the source value and the exception.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link DoubleFunction}
+     */
+    public static <R,E extends Exception> DoubleFunction<R> fallbackDouble(ThrowableDoubleFunctionExt<R, E> throwableMapper, BiFunction<Double, Exception, R> fallbackFunction) {
+        return v -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            R result;
+            try {
+                result = throwableMapper.apply(v);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableMapper, e);
+                result = fallbackFunction.apply(v, e);
+            }
+            StreamExtSlowElement.finish(slow, throwableMapper);
+            return result;
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableDoubleConsumerExt} to {@link DoubleConsumer}.
+     * {@link FunctionExecutionException} thrown when throwableConsumer throws an exception.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the {@link DoubleConsumer}
+     */
+    public static <E extends Exception> DoubleConsumer rethrowDoubleConsumer(ThrowableDoubleConsumerExt<E> throwableConsumer) {
+        return fallbackDoubleConsumer(throwableConsumer, (v,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableDoubleConsumerExt} to {@link DoubleConsumer}.
+     * When throwableConsumer throws an exception, returns a {@link DoubleConsumer}
+     * which do nothing.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the {@link DoubleConsumer}
+     */
+    public static <E extends Exception> DoubleConsumer quietDoubleConsumer(ThrowableDoubleConsumerExt<E> throwableConsumer) {
+        return fallbackDoubleConsumer(throwableConsumer, StreamExt::noop);
+    }
+
+    /**
+     * Converts {@link ThrowableDoubleConsumerExt} to {@link DoubleConsumer}.
+     * When throwableConsumer throws an exception, {@code fallbackFunction} is called to
+     * handle the exception. The value is boxed only when the exception is thrown.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwableConsumer throws an exception.
+     *                         It takes two input parameters: the source value and the exception.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the {@link DoubleConsumer}
+     */
+    public static <E extends Exception> DoubleConsumer fallbackDoubleConsumer(ThrowableDoubleConsumerExt<E> throwableConsumer, BiConsumer<Double, Exception> fallbackFunction) {
+        return v -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            try {
+                throwableConsumer.accept(v);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableConsumer, e);
+                fallbackFunction.accept(v, e);
+            }
+            StreamExtSlowElement.finish(slow, throwableConsumer);
+        };
+    }
+
+    /**
+     * Converts {@link ThrowableToDoubleFunctionExt} to {@link ToDoubleFunction}.
+     * {@link FunctionExecutionException} thrown when throwableMapper throws an exception.
+     *
+     * <p>
+     *  This is not an overload of {@link #rethrow(ThrowableFunctionExt)}, because a method reference
+     *  such as {@code String::length} would resolve to this instead, and could no longer be
+     *  passed to {@link java.util.stream.Stream#map(Function)}.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <T> the type of object which the function apply.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link ToDoubleFunction}
+     */
+    public static <T,E extends Exception> ToDoubleFunction<T> rethrowToDouble(ThrowableToDoubleFunctionExt<T, E> throwableMapper) {
+        return fallbackToDouble(throwableMapper, (t,e) -> rethrowActually(e));
+    }
+
+    /**
+     * Converts {@link ThrowableToDoubleFunctionExt} to {@link ToDoubleFunction}.
+     * When throwableMapper throws an exception, returns a {@link ToDoubleFunction}
+     * which maps to {@code 0.0}.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <T> the type of object which the function apply.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link ToDoubleFunction}
+     */
+    public static <T,E extends Exception> ToDoubleFunction<T> quietToDouble(ThrowableToDoubleFunctionExt<T, E> throwableMapper) {
+        return fallbackToDouble(throwableMapper, (t,e) -> 0.0);
+    }
+
+    /**
+     * Converts {@link ThrowableToDoubleFunctionExt} to {@link ToDoubleFunction}.
+     * When throwableMapper throws an exception, {@code fallbackFunction} is called to
+     * handle the exception.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param fallbackFunction the function to be called when throwableMapper throws an exception.
+     *                         It has to map a alternate result from two input parameters:
+     *                         the source element and the exception.
+     * @param <T> the type of object which the function apply.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link ToDoubleFunction}
+     */
+    public static <T,E extends Exception> ToDoubleFunction<T> fallbackToDouble(ThrowableToDoubleFunctionExt<T, E> throwableMapper, ToDoubleBiFunction<T, Exception> fallbackFunction) {
+        return t -> {
+            StreamExtSlowElement slow = StreamExtSlowElement.start();
+            double result;
+            try {
+                result = throwableMapper.applyAsDouble(t);
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableMapper, e);
+                result = fallbackFunction.applyAsDouble(t, e);
+            }
+            StreamExtSlowElement.finish(slow, throwableMapper);
+            return result;
+        };
+    }
+
+    // ////////////////////////
+    // Concurrent mapping
+    // ////////////////////////
+
+    /**
+     * Returns a stream consisting of the results of applying the given mapper
+     * to the elements of the stream on virtual threads.
+     * At most {@code maxInFlight} calls of the mapper run at the same time, and
+     * the source is pulled only when a slot is free.
+     * The results are emitted in encounter order.
+     *
+     * <p>
+     *  Combine with {@link #rethrow(ThrowableFunctionExt)}, {@link #quiet(ThrowableFunctionExt)}
+     *  or {@link #fallback(ThrowableFunctionExt, BiFunction)} to handle the exceptions per element.
+     *  When the mapper throws, the calls still in flight are cancelled.
+     *
+     * @param stream the source stream
+     * @param maxInFlight the maximum number of calls running at the same time
+     * @param mapper the function to apply to each element
+     * @param <T> the type of the source elements
+     * @param <R> the type of the mapped elements
+     * @return the new stream
+     */
+    public static <T,R> Stream<R> mapConcurrent(Stream<T> stream, int maxInFlight, Function<T,R> mapper) {
+        return concurrentStream(stream, new ConcurrentMapSpliterator<>(stream.spliterator(), maxInFlight, mapper, true));
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given mapper
+     * to the elements of the stream on virtual threads, in completion order.
+     * Same as {@link #mapConcurrent(Stream, int, Function)} except the order of the results.
+     *
+     * @param stream the source stream
+     * @param maxInFlight the maximum number of calls running at the same time
+     * @param mapper the function to apply to each element
+     * @param <T> the type of the source elements
+     * @param <R> the type of the mapped elements
+     * @return the new stream
+     */
+    public static <T,R> Stream<R> mapConcurrentUnordered(Stream<T> stream, int maxInFlight, Function<T,R> mapper) {
+        return concurrentStream(stream, new ConcurrentMapSpliterator<>(stream.spliterator(), maxInFlight, mapper, false));
+    }
+
+    private static <T,R> Stream<R> concurrentStream(Stream<T> stream, ConcurrentMapSpliterator<T,R> spliterator) {
+        return StreamSupport.stream(spliterator, false)
+                .onClose(spliterator::cancel)
+                .onClose(stream::close);
+    }
+
+    // ////////////////////////
+    // Caching
+    // ////////////////////////
+
+    /**
+     * Returns a function which memoizes the results of {@code throwableMapper} by the input.
+     * It can be passed to {@code mapE} and, for a boolean result, to {@code filterE}
+     * as {@code cached::apply}.
+     *
+     * <p>
+     *  Concurrent calls for the same key share a single load, so a parallel stream
+     *  does not call the function many times for a key being loaded.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param policy the size limit, expiration and caching of failures.
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link CachedFunction}, which exposes the counters by {@link CachedFunction#stats()}
+     */
+    public static <T,R,E extends Exception> CachedFunction<T,R,E> cached(ThrowableFunctionExt<T, R, E> throwableMapper, CachePolicy policy) {
+        return new CachedFunction<>(Objects.requireNonNull(throwableMapper), Objects.requireNonNull(policy));
+    }
+
+    // ////////////////////////
+    // Hedging
+    // ////////////////////////
+
+    /**
+     * Returns a function which hedges the calls of {@code throwableMapper} to reduce the tail latency.
+     * When a call has not finished after the delay of the policy, a duplicate attempt is started
+     * on a virtual thread, the first one to succeed wins and the others are cancelled.
+     *
+     * <p>
+     *  Combine with {@link #rethrow(ThrowableFunctionExt)} or {@link #fallback(ThrowableFunctionExt, BiFunction)}
+     *  to handle the exception thrown when all the attempts failed.
+     *
+     * @param throwableMapper the function that may throw an checked exception. It has to be idempotent.
+     * @param policy the delay and the maximum attempts.
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link HedgedFunction}, which exposes the counters of the hedges
+     */
+    public static <T,R,E extends Exception> HedgedFunction<T,R,E> hedged(ThrowableFunctionExt<T, R, E> throwableMapper, HedgePolicy policy) {
+        return new HedgedFunction<>(Objects.requireNonNull(throwableMapper), Objects.requireNonNull(policy));
+    }
+
+    // ////////////////////////
+    // Circuit breaking
+    // ////////////////////////
+
+    /**
+     * Returns a function which calls {@code throwableMapper} through a new {@link CircuitBreaker}.
+     * While the breaker is open, {@link CircuitOpenException} is thrown without calling it,
+     * so {@link #fallback(ThrowableFunctionExt, BiFunction)} handles the element right away
+     * instead of waiting for the dependency to time out.
+     *
+     * <pre>{@code
+     *   stream.map(fallback(circuitBreaker(this::lookup, BreakerPolicy.failureRateAbove(50, 100)), (t, e) -> UNKNOWN))
+     * }</pre>
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param policy the failure rate threshold, the window and the open duration.
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the function guarded by the breaker
+     * @see #circuitBreaker(ThrowableFunctionExt, CircuitBreaker)
+     */
+    public static <T,R,E extends Exception> ThrowableFunctionExt<T, R, E> circuitBreaker(ThrowableFunctionExt<T, R, E> throwableMapper, BreakerPolicy policy) {
+        return circuitBreaker(throwableMapper, CircuitBreaker.of(Named.nameOf(throwableMapper), policy));
+    }
+
+    /**
+     * Returns a function which calls {@code throwableMapper} through the given {@link CircuitBreaker},
+     * which may be shared with the other functions calling the same dependency.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param breaker the breaker to share.
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the function guarded by the breaker
+     */
+    public static <T,R,E extends Exception> ThrowableFunctionExt<T, R, E> circuitBreaker(ThrowableFunctionExt<T, R, E> throwableMapper, CircuitBreaker breaker) {
+        Objects.requireNonNull(throwableMapper);
+        Objects.requireNonNull(breaker);
+        return t -> {
+            CircuitBreaker.Epoch permit = breaker.acquire();
+            boolean succeeded = false;
+            try {
+                R result = throwableMapper.apply(t);
+                succeeded = true;
+                return result;
+            } finally {
+                breaker.record(permit, succeeded);
+            }
+        };
+    }
+
+    /**
+     * Returns a predicate which calls {@code throwablePredicate} through a new {@link CircuitBreaker}.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param policy the failure rate threshold, the window and the open duration.
+     * @param <T> the type of object which the predicate test.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the predicate guarded by the breaker
+     * @see #circuitBreaker(ThrowableFunctionExt, BreakerPolicy)
+     */
+    public static <T,E extends Exception> ThrowablePredicateExt<T, E> circuitBreaker(ThrowablePredicateExt<T, E> throwablePredicate, BreakerPolicy policy) {
+        return circuitBreaker(throwablePredicate, CircuitBreaker.of(Named.nameOf(throwablePredicate), policy));
+    }
+
+    /**
+     * Returns a predicate which calls {@code throwablePredicate} through the given {@link CircuitBreaker}.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param breaker the breaker to share.
+     * @param <T> the type of object which the predicate test.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the predicate guarded by the breaker
+     * @see #circuitBreaker(ThrowableFunctionExt, CircuitBreaker)
+     */
+    public static <T,E extends Exception> ThrowablePredicateExt<T, E> circuitBreaker(ThrowablePredicateExt<T, E> throwablePredicate, CircuitBreaker breaker) {
+        Objects.requireNonNull(throwablePredicate);
+        Objects.requireNonNull(breaker);
+        return t -> {
+            CircuitBreaker.Epoch permit = breaker.acquire();
+            boolean succeeded = false;
+            try {
+                boolean result = throwablePredicate.test(t);
+                succeeded = true;
+                return result;
+            } finally {
+                breaker.record(permit, succeeded);
+            }
+        };
+    }
+
+    /**
+     * Returns a consumer which calls {@code throwableConsumer} through a new {@link CircuitBreaker}.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param policy the failure rate threshold, the window and the open duration.
+     * @param <T> the type of object which the consumer accept.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the consumer guarded by the breaker
+     * @see #circuitBreaker(ThrowableFunctionExt, BreakerPolicy)
+     */
+    public static <T,E extends Exception> ThrowableConsumerExt<T, E> circuitBreaker(ThrowableConsumerExt<T, E> throwableConsumer, BreakerPolicy policy) {
+        return circuitBreaker(throwableConsumer, CircuitBreaker.of(Named.nameOf(throwableConsumer), policy));
+    }
+
+    /**
+     * Returns a consumer which calls {@code throwableConsumer} through the given {@link CircuitBreaker}.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param breaker the breaker to share.
+     * @param <T> the type of object which the consumer accept.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the consumer guarded by the breaker
+     * @see #circuitBreaker(ThrowableFunctionExt, CircuitBreaker)
+     */
+    public static <T,E extends Exception> ThrowableConsumerExt<T, E> circuitBreaker(ThrowableConsumerExt<T, E> throwableConsumer, CircuitBreaker breaker) {
+        Objects.requireNonNull(throwableConsumer);
+        Objects.requireNonNull(breaker);
+        return t -> {
+            CircuitBreaker.Epoch permit = breaker.acquire();
+            boolean succeeded = false;
+            try {
+                throwableConsumer.accept(t);
+                succeeded = true;
+            } finally {
+                breaker.record(permit, succeeded);
+            }
+        };
+    }
+
+    // ////////////////////////
+    // Rate limiting
+    // ////////////////////////
+
+    /**
+     * Returns a function which calls {@code throwableMapper} at most {@code permitsPerSecond} times per second,
+     * through a new {@link RateLimiter}. The caller is parked until its time slot without spinning,
+     * so it suits a downstream with a quota, and a parallel stream as a whole keeps the rate.
+     *
+     * <pre>{@code
+     *   stream.parallel().map(rethrow(rateLimited(this::callApi, 50, 10)))
+     * }</pre>
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param permitsPerSecond the number of the calls per second.
+     * @param burst the maximum number of the calls at once after an idle period.
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the rate limited function
+     * @see #rateLimited(ThrowableFunctionExt, RateLimiter)
+     */
+    public static <T,R,E extends Exception> ThrowableFunctionExt<T, R, E> rateLimited(ThrowableFunctionExt<T, R, E> throwableMapper, double permitsPerSecond, int burst) {
+        return rateLimited(throwableMapper, RateLimiter.of(RateLimitPolicy.perSecond(permitsPerSecond).burst(burst)));
+    }
+
+    /**
+     * Returns a function which calls {@code throwableMapper} through the given {@link RateLimiter},
+     * which may be shared with the other functions calling the same downstream.
+     * When the policy is {@link RateLimitPolicy#adaptiveOn(Class) adaptive}, a call throwing the throttled
+     * exception type lowers the rate; the exception is still thrown to be handled as usual.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param limiter the rate limiter to share.
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the rate limited function
+     */
+    public static <T,R,E extends Exception> ThrowableFunctionExt<T, R, E> rateLimited(ThrowableFunctionExt<T, R, E> throwableMapper, RateLimiter limiter) {
+        Objects.requireNonNull(throwableMapper);
+        Objects.requireNonNull(limiter);
+        return t -> limiter.call(throwableMapper, t);
+    }
+
+    /**
+     * Returns a predicate which calls {@code throwablePredicate} at most {@code permitsPerSecond} times per second.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param permitsPerSecond the number of the calls per second.
+     * @param burst the maximum number of the calls at once after an idle period.
+     * @param <T> the type of object which the predicate test.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the rate limited predicate
+     * @see #rateLimited(ThrowableFunctionExt, double, int)
+     */
+    public static <T,E extends Exception> ThrowablePredicateExt<T, E> rateLimited(ThrowablePredicateExt<T, E> throwablePredicate, double permitsPerSecond, int burst) {
+        return rateLimited(throwablePredicate, RateLimiter.of(RateLimitPolicy.perSecond(permitsPerSecond).burst(burst)));
+    }
+
+    /**
+     * Returns a predicate which calls {@code throwablePredicate} through the given {@link RateLimiter}.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param limiter the rate limiter to share.
+     * @param <T> the type of object which the predicate test.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the rate limited predicate
+     * @see #rateLimited(ThrowableFunctionExt, RateLimiter)
+     */
+    public static <T,E extends Exception> ThrowablePredicateExt<T, E> rateLimited(ThrowablePredicateExt<T, E> throwablePredicate, RateLimiter limiter) {
+        Objects.requireNonNull(throwablePredicate);
+        Objects.requireNonNull(limiter);
+        return t -> limiter.call(throwablePredicate::test, t);
+    }
+
+    /**
+     * Returns a consumer which calls {@code throwableConsumer} at most {@code permitsPerSecond} times per second.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param permitsPerSecond the number of the calls per second.
+     * @param burst the maximum number of the calls at once after an idle period.
+     * @param <T> the type of object which the consumer accept.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the rate limited consumer
+     * @see #rateLimited(ThrowableFunctionExt, double, int)
+     */
+    public static <T,E extends Exception> ThrowableConsumerExt<T, E> rateLimited(ThrowableConsumerExt<T, E> throwableConsumer, double permitsPerSecond, int burst) {
+        return rateLimited(throwableConsumer, RateLimiter.of(RateLimitPolicy.perSecond(permitsPerSecond).burst(burst)));
+    }
+
+    /**
+     * Returns a consumer which calls {@code throwableConsumer} through the given {@link RateLimiter}.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param limiter the rate limiter to share.
+     * @param <T> the type of object which the consumer accept.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the rate limited consumer
+     * @see #rateLimited(ThrowableFunctionExt, RateLimiter)
+     */
+    public static <T,E extends Exception> ThrowableConsumerExt<T, E> rateLimited(ThrowableConsumerExt<T, E> throwableConsumer, RateLimiter limiter) {
+        Objects.requireNonNull(throwableConsumer);
+        Objects.requireNonNull(limiter);
+        return t -> limiter.call(x -> {
+            throwableConsumer.accept(x);
+            return null;
+        }, t);
+    }
+
+    // ////////////////////////
+    // Timeouts
+    // ////////////////////////
+
+    /**
+     * Returns a function which limits the time of each call of {@code throwableMapper}.
+     * When a call exceeds the timeout, {@link TimeoutException} is thrown, which can be handled by
+     * {@link #rethrow(ThrowableFunctionExt)} or {@link #fallback(ThrowableFunctionExt, BiFunction)}.
+     *
+     * <p>
+     *  Each call runs on its own virtual thread, and the calling thread waits for it.
+     *  When the call times out, only its virtual thread is interrupted, which unblocks
+     *  a socket read, and abandoned if it does not respond. The calling thread, such as a worker
+     *  of a parallel stream, is never interrupted, so the channels it shares are not closed.
+     *  The call does not see the thread locals of the calling thread.
+     *  The timeouts are managed by a shared timer wheel with the resolution of a millisecond,
+     *  not by a scheduled task per call.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param timeout the maximum time of each call
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the function with the timeout
+     */
+    public static <T,R,E extends Exception> ThrowableFunctionExt<T,R,Exception> withTimeout(ThrowableFunctionExt<T, R, E> throwableMapper, Duration timeout) {
+        long timeoutNanos = saturatedNanos(timeout);
+        return t -> callWithDeadline(throwableMapper, t, System.nanoTime() + timeoutNanos);
+    }
+
+    /**
+     * Returns a function which makes each call of {@code throwableMapper} finish by the deadline,
+     * typically shared by all the elements of a stream.
+     * After the deadline, {@link TimeoutException} is thrown without calling it.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param deadline the deadline of all the calls
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the function with the deadline
+     * @see #withTimeout(ThrowableFunctionExt, Duration)
+     */
+    public static <T,R,E extends Exception> ThrowableFunctionExt<T,R,Exception> withDeadline(ThrowableFunctionExt<T, R, E> throwableMapper, Instant deadline) {
+        long deadlineNanos = deadlineNanos(deadline);
+        return t -> callWithDeadline(throwableMapper, t, deadlineNanos);
+    }
+
+    /**
+     * Returns a consumer which limits the time of each call of {@code throwableConsumer}.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param timeout the maximum time of each call
+     * @param <T> the type of object which the consumer accept.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the consumer with the timeout
+     * @see #withTimeout(ThrowableFunctionExt, Duration)
+     */
+    public static <T,E extends Exception> ThrowableConsumerExt<T,Exception> withTimeout(ThrowableConsumerExt<T, E> throwableConsumer, Duration timeout) {
+        long timeoutNanos = saturatedNanos(timeout);
+        return t -> callWithDeadline(asFunction(throwableConsumer), t, System.nanoTime() + timeoutNanos);
+    }
+
+    /**
+     * Returns a consumer which makes each call of {@code throwableConsumer} finish by the deadline.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param deadline the deadline of all the calls
+     * @param <T> the type of object which the consumer accept.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the consumer with the deadline
+     * @see #withDeadline(ThrowableFunctionExt, Instant)
+     */
+    public static <T,E extends Exception> ThrowableConsumerExt<T,Exception> withDeadline(ThrowableConsumerExt<T, E> throwableConsumer, Instant deadline) {
+        long deadlineNanos = deadlineNanos(deadline);
+        return t -> callWithDeadline(asFunction(throwableConsumer), t, deadlineNanos);
+    }
+
+    private static <T,R,E extends Exception> R callWithDeadline(ThrowableFunctionExt<T, R, E> throwableMapper, T t, long deadlineNanos) throws Exception {
+        if (deadlineNanos - System.nanoTime() <= 0) {
+            throw new TimeoutException("deadline exceeded before the call");
+        }
+        var call = new FutureTask<R>(() -> throwableMapper.apply(t));
+        TimerWheel.Timeout timeout = TimerWheel.SHARED.schedule(call, deadlineNanos);
+        VirtualThreads.start(call);
+        try {
+            // a result completed just before the timeout expired is still returned
+            return call.get();
+        } catch (CancellationException e) {
+            throw new TimeoutException("call timed out");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (Exception) e.getCause();
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            // a fallback catches the exception, so the flag keeps the cancellation of the caller
+            Thread.currentThread().interrupt();
+            throw e;
+        } finally {
+            timeout.cancel();
+        }
+    }
+
+    private static <T,E extends Exception> ThrowableFunctionExt<T,Void,E> asFunction(ThrowableConsumerExt<T, E> throwableConsumer) {
+        return t -> {
+            throwableConsumer.accept(t);
+            return null;
+        };
+    }
+
+    private static long deadlineNanos(Instant deadline) {
+        long remaining;
+        try {
+            remaining = Duration.between(Instant.now(), deadline).toNanos();
+        } catch (ArithmeticException e) {
+            remaining = deadline.isBefore(Instant.now()) ? 0 : Long.MAX_VALUE;
+        }
+        // a passed deadline is kept close to now, so comparing with System.nanoTime() does not overflow
+        return System.nanoTime() + Math.max(remaining, 0);
+    }
+
+    // ////////////////////////
+    // Batched mapping
+    // ////////////////////////
+
+    /**
+     * Returns a stream consisting of the results of applying the given bulk mapper
+     * to the batches of the elements of the stream, flattened in encounter order.
+     *
+     * <p>
+     *  The elements are grouped lazily: a batch is closed when it has {@code batchSize} elements,
+     *  or when {@code maxDelay} has elapsed since its first element was pulled, so short-circuiting
+     *  operations such as {@link Stream#findFirst()} pull only the batches they need.
+     *  On a parallel stream, each split is batched separately.
+     *  The bulk mapper has to return the same number of results as the batch, in the same order.
+     *
+     * <p>
+     *  Combine with {@link #rethrow(ThrowableFunctionExt)} or
+     *  {@link #fallback(ThrowableFunctionExt, BiFunction)} to handle the exceptions per batch,
+     *  and {@link #retryEach(ThrowableFunctionExt, BiFunction)} to retry a failed batch element by element.
+     *
+     * @param stream the source stream
+     * @param batchSize the maximum number of elements in a batch
+     * @param maxDelay the maximum time to wait for the source to fill a batch
+     * @param bulkMapper the function to apply to each batch
+     * @param <T> the type of the source elements
+     * @param <R> the type of the mapped elements
+     * @return the new stream
+     */
+    public static <T,R> Stream<R> mapBatched(Stream<T> stream, int batchSize, Duration maxDelay, Function<List<T>, List<R>> bulkMapper) {
+        long maxDelayNanos = saturatedNanos(maxDelay);
+        return StreamSupport.stream(new BatchingSpliterator<>(stream.spliterator(), batchSize, maxDelayNanos, bulkMapper), stream.isParallel())
+                .onClose(stream::close);
+    }
+
+    /**
+     * Returns a fallback function for a bulk mapper, which retries the elements of the failed batch
+     * one by one as singleton batches. When an element still fails, {@code fallbackFunction}
+     * is called to handle the exception of the element.
+     *
+     * @param bulkMapper the bulk mapper that may throw an checked exception.
+     * @param fallbackFunction the function to be called when an element fails.
+     *                         It has to map a alternate result of T from two input parameters:
+     *                         the source element and the exception.
+     * @param <T> the type of the source elements
+     * @param <R> the type of the mapped elements
+     * @param <E> the type of exception which the bulk mapper throws.
+     * @return the fallback function for the batch
+     */
+    public static <T,R,E extends Exception> BiFunction<List<T>, Exception, List<R>> retryEach(ThrowableFunctionExt<List<T>, List<R>, E> bulkMapper, BiFunction<T, Exception, R> fallbackFunction) {
+        ThrowableFunctionExt<T, R, E> single = t -> bulkMapper.apply(Collections.singletonList(t)).get(0);
+        Function<T, R> retry = fallback(single, fallbackFunction);
+        return (batch, e) -> {
+            List<R> results = new ArrayList<>(batch.size());
+            for (T t : batch) {
+                results.add(retry.apply(t));
+            }
+            return results;
+        };
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    // ////////////////////////
+    // Fail-fast
+    // ////////////////////////
+
+    /**
+     * Returns a stream of the same elements, which stops pulling them on all the workers
+     * as soon as the operations after it throw an exception for an element.
+     *
+     * <p>
+     *  Without it, when an element of a parallel stream fails, the other workers keep processing
+     *  their splits to the end before the exception is thrown. With it, they check a shared
+     *  cancellation flag before each element, and stop after the elements in process.
+     *  The first exception is thrown with the exceptions thrown concurrently by the other workers
+     *  added as suppressed, up to 16. The suppressed exceptions are not added to
+     *  a {@link FunctionExecutionException} of {@link RethrowMode#LIGHTWEIGHT}.
+     *
+     * <pre>{@code
+     *   failFast(paths.parallelStream())
+     *       .map(rethrow(Files::readAllBytes))
+     *       .forEach(this::upload);
+     * }</pre>
+     *
+     * @param stream the source stream
+     * @param <T> the type of the elements
+     * @return the new stream
+     */
+    public static <T> Stream<T> failFast(Stream<T> stream) {
+        return StreamSupport.stream(new FailFastSpliterator<>(stream.spliterator()), stream.isParallel())
+                .onClose(stream::close);
+    }
+
+    // ////////////////////////
+    // ForkJoinPool
+    // ////////////////////////
+
+    /**
+     * Runs a terminal operation of a parallel stream on the workers of the given pool,
+     * instead of the common pool shared by the JVM.
+     *
+     * <pre>{@code
+     *   var pool = new ForkJoinPool(32);
+     *   runIn(pool, () -> paths.parallelStream().forEach(rethrow(blocking(this::upload))));
+     * }</pre>
+     *
+     * @param pool the pool to run on
+     * @param terminal the terminal operation
+     */
+    public static void runIn(ForkJoinPool pool, Runnable terminal) {
+        Objects.requireNonNull(terminal);
+        Objects.requireNonNull(pool).invoke(ForkJoinTask.adapt(terminal));
+    }
+
+    /**
+     * Runs a terminal operation of a parallel stream on the workers of the given pool,
+     * and returns its result.
+     *
+     * @param pool the pool to run on
+     * @param terminal the terminal operation
+     * @param <R> the type of the result
+     * @return the result of the terminal operation
+     * @see #runIn(ForkJoinPool, Runnable)
+     */
+    public static <R> R callIn(ForkJoinPool pool, Supplier<R> terminal) {
+        Objects.requireNonNull(terminal);
+        return Objects.requireNonNull(pool).invoke(ForkJoinTask.adapt(terminal::get));
+    }
+
+    /**
+     * Runs a terminal operation of a parallel stream on a new pool of the given parallelism,
+     * which is shut down after the operation.
+     *
+     * @param parallelism the parallelism of the pool
+     * @param terminal the terminal operation
+     * @see #runIn(ForkJoinPool, Runnable)
+     */
+    public static void runIn(int parallelism, Runnable terminal) {
+        callIn(parallelism, () -> {
+            terminal.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a terminal operation of a parallel stream on a new pool of the given parallelism,
+     * which is shut down after the operation, and returns its result.
+     *
+     * @param parallelism the parallelism of the pool
+     * @param terminal the terminal operation
+     * @param <R> the type of the result
+     * @return the result of the terminal operation
+     * @see #runIn(ForkJoinPool, Runnable)
+     */
+    public static <R> R callIn(int parallelism, Supplier<R> terminal) {
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            return callIn(pool, terminal);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Returns a function which calls {@code throwableMapper} through
+     * {@link ForkJoinPool#managedBlock(ForkJoinPool.ManagedBlocker)} when called on a worker of a pool,
+     * so the pool can activate a spare worker while the call blocks on I/O.
+     * On the other threads, {@code throwableMapper} is called as it is.
+     *
+     * @param throwableMapper the function that may throw an checked exception, and may block.
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the function compensating the blocked worker
+     */
+    public static <T,R,E extends Exception> ThrowableFunctionExt<T, R, E> blocking(ThrowableFunctionExt<T, R, E> throwableMapper) {
+        Objects.requireNonNull(throwableMapper);
+        return t -> BlockingCall.call(throwableMapper, t);
+    }
+
+    /**
+     * Returns a predicate which calls {@code throwablePredicate} through
+     * {@link ForkJoinPool#managedBlock(ForkJoinPool.ManagedBlocker)} when called on a worker of a pool.
+     *
+     * @param throwablePredicate the predicate that may throw an checked exception, and may block.
+     * @param <T> the type of object which the predicate test.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the predicate compensating the blocked worker
+     * @see #blocking(ThrowableFunctionExt)
+     */
+    public static <T,E extends Exception> ThrowablePredicateExt<T, E> blocking(ThrowablePredicateExt<T, E> throwablePredicate) {
+        Objects.requireNonNull(throwablePredicate);
+        ThrowableFunctionExt<T, Boolean, E> function = throwablePredicate::test;
+        return t -> BlockingCall.call(function, t);
+    }
+
+    /**
+     * Returns a consumer which calls {@code throwableConsumer} through
+     * {@link ForkJoinPool#managedBlock(ForkJoinPool.ManagedBlocker)} when called on a worker of a pool.
+     *
+     * @param throwableConsumer the consumer that may throw an checked exception, and may block.
+     * @param <T> the type of object which the consumer accept.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the consumer compensating the blocked worker
+     * @see #blocking(ThrowableFunctionExt)
+     */
+    public static <T,E extends Exception> ThrowableConsumerExt<T, E> blocking(ThrowableConsumerExt<T, E> throwableConsumer) {
+        Objects.requireNonNull(throwableConsumer);
+        ThrowableFunctionExt<T, Void, E> function = t -> {
+            throwableConsumer.accept(t);
+            return null;
+        };
+        return t -> BlockingCall.call(function, t);
+    }
+
+    // ////////////////////////
+    // Results
+    // ////////////////////////
+
+    /**
+     * Converts {@link ThrowableFunctionExt} to {@link Function} which returns a {@link Result}:
+     * the value when throwableMapper returns, or the exception and the element when it throws.
+     * Unlike {@link #rethrow(ThrowableFunctionExt)}, a failed element does not abort the stream,
+     * and unlike {@link #quiet(ThrowableFunctionExt)}, its cause is kept.
+     *
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the {@link Function} returning the results
+     */
+    public static <T,R,E extends Exception> Function<T, Result<T, R>> attempt(ThrowableFunctionExt<T, R, E> throwableMapper) {
+        Objects.requireNonNull(throwableMapper);
+        return t -> {
+            try {
+                return Result.success(throwableMapper.apply(t));
+            } catch (Exception e) {
+                StreamExtElementFailed.emit(throwableMapper, e);
+                return Result.failure(t, e);
+            }
+        };
+    }
+
+    // ////////////////////////
+    // Checkpointing
+    // ////////////////////////
+
+    /**
+     * Performs an action for each element of the stream, saving the progress to the store
+     * periodically, so a job restarted after a crash skips the elements already completed
+     * without performing the action on them again.
+     *
+     * <p>
+     *  The elements are identified by their ordinals in encounter order, so the stream must
+     *  produce the same elements in the same order on each run. A parallel stream is split only
+     *  when its source is {@link java.util.Spliterator#SUBSIZED}, such as a list or a range,
+     *  and runs sequentially otherwise. An element is completed when the action returned;
+     *  the progress is saved at each interval on a background thread, and once more when
+     *  the action throws. The checkpoint is cleared when all the elements are completed.
+     *  When a periodic save fails, the stream stops, and the failure is thrown after the last
+     *  checkpoint is saved, rather than going on without the progress being saved.
+     *  An element completed after the last saved checkpoint is performed again on restart,
+     *  so the action should be idempotent.
+     *
+     * <pre>{@code
+     *   forEachCheckpointed(ids.parallelStream(), rethrow(this::migrate),
+     *       CheckpointStore.file(Path.of("migrate.ckpt")), Duration.ofSeconds(1));
+     * }</pre>
+     *
+     * @param stream the source stream
+     * @param action action to perform on the elements
+     * @param store the store of the checkpoint
+     * @param interval the interval to save the checkpoint
+     * @param <T> the type of the elements
+     * @throws UncheckedIOException if failed to load, save or clear the checkpoint
+     */
+    public static <T> void forEachCheckpointed(Stream<T> stream, Consumer<T> action, CheckpointStore store, Duration interval) {
+        Objects.requireNonNull(action);
+        Checkpointer checkpointer;
+        try {
+            checkpointer = new Checkpointer(store.load(), store, interval.toNanos());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        checkpointer.start();
+        try {
+            StreamSupport.stream(new CheckpointSpliterator<>(stream.spliterator(), checkpointer, 0), stream.isParallel())
+                    .onClose(stream::close)
+                    .forEach(action);
+        } catch (RuntimeException | Error e) {
+            try {
+                checkpointer.finish(false);
+            } catch (IOException | RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        try {
+            checkpointer.finish(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ////////////////////////
+    // Mapped lines
+    // ////////////////////////
+
+    /**
+     * Returns the lines of the file, read by mapping it into memory.
+     * The stream splits well in parallel: a split is made at the middle of the bytes of the rest,
+     * moved to the next line start, regardless of the line lengths.
+     *
+     * <p>
+     *  A line of single-byte characters is a view of the mapped bytes, not a copy, so convert it
+     *  by {@code toString()} to keep it after the element is processed. The other lines are decoded,
+     *  and the malformed input is replaced. The lines are terminated by {@code "\n"} or {@code "\r\n"}.
+     *  The charsets other than UTF-8, US-ASCII and ISO-8859-1 are read sequentially by
+     *  {@link Files#newBufferedReader(Path, Charset)}, and the lines are terminated by {@code "\r"} as well.
+     *  A failure to read is re-thrown by the default {@link RethrowMode} in either case.
+     *  Close the stream to close the file.
+     *
+     * @param path the path of the file
+     * @param charset the charset of the file
+     * @return the stream of the lines
+     * @throws IOException if failed to open the file
+     */
+    public static Stream<CharSequence> mappedLines(Path path, Charset charset) throws IOException {
+        if (!MappedLineSpliterator.supports(charset)) {
+            return readLines(path, charset);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return StreamSupport.stream(new MappedLineSpliterator(channel, charset), false)
+                    .onClose(() -> {
+                        try {
+                            channel.close();
+                        } catch (IOException e) {
+                            throw defaultRethrowMode.wrap(e);
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static Stream<CharSequence> readLines(Path path, Charset charset) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(path, charset);
+        // reads the line apart from the action, so an exception from the action is not mapped
+        var lines = new Spliterators.AbstractSpliterator<CharSequence>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super CharSequence> action) {
+                String line;
+                try {
+                    line = reader.readLine();
+                } catch (IOException e) {
+                    throw defaultRethrowMode.wrap(e);
+                }
+                if (line == null) {
+                    return false;
+                }
+                action.accept(line);
+                return true;
+            }
+        };
+        return StreamSupport.stream(lines, false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw defaultRethrowMode.wrap(e);
+                    }
+                });
+    }
+
+    // ////////////////////////
+    // Reactive streams
+    // ////////////////////////
+
+    /**
+     * Returns a {@link Flow.Publisher} of the elements of the stream. The elements are pulled from the stream
+     * only as its subscriber requests them, on the executor, so no thread is blocked waiting for the demand.
+     * A failure of the stream, such as {@link FunctionExecutionException} thrown by a {@code rethrow} wrapper,
+     * is signalled by {@code onError} with the exception thrown by the function.
+     * The stream is consumed once, so the publisher accepts only one subscriber,
+     * and the stream is closed when the subscription is terminated or cancelled.
+     *
+     * @param stream the source stream
+     * @param executor the executor to emit the elements on
+     * @param <T> the type of the elements
+     * @return the publisher
+     */
+    public static <T> Flow.Publisher<T> toPublisher(Stream<T> stream, Executor executor) {
+        return new StreamPublisher<>(stream, executor);
+    }
+
+    /**
+     * Returns a {@link Flow.Publisher} of the results of the asynchronous mapper, in encounter order.
+     * An element is pulled from the stream and mapped only when a result is requested, keeping
+     * at most {@code maxInFlight} calls in flight. When the mapper throws an exception or its stage
+     * completes exceptionally, {@code fallbackFunction} is called to emit an alternate result,
+     * or the subscription is terminated by {@code onError} with the exception when it is {@code null}.
+     *
+     * <pre>{@code
+     *   Flow.Publisher<HttpResponse<String>> responses =
+     *       mapAsync(requests.stream(), req -> client.sendAsync(req, ofString()), 16, null, executor);
+     * }</pre>
+     *
+     * @param stream the source stream
+     * @param throwableMapper the function that may throw an checked exception, starting the asynchronous call
+     * @param maxInFlight the maximum number of the calls in flight
+     * @param fallbackFunction the function to be called when a call fails, or {@code null} to signal {@code onError}
+     * @param executor the executor to pull the elements and emit the results on
+     * @param <T> the type of the source elements
+     * @param <R> the type of the results
+     * @param <E> the type of exception which the function throws
+     * @return the publisher
+     */
+    public static <T,R,E extends Exception> Flow.Publisher<R> mapAsync(Stream<T> stream, ThrowableFunctionExt<T, ? extends CompletionStage<R>, E> throwableMapper,
+                                                                       int maxInFlight, BiFunction<T, Exception, R> fallbackFunction, Executor executor) {
+        return new AsyncMapPublisher<>(stream, throwableMapper, maxInFlight, fallbackFunction, executor);
+    }
+
+    // ////////////////////////
+    // Metrics
+    // ////////////////////////
+
+    /**
+     * Returns a function which records its calls to the global {@link StreamExtMetrics} under the given name:
+     * the number of the calls, the number of the failures by the exception class and the latency.
+     * Name the function before wrapping it by {@link #rethrow(ThrowableFunctionExt)},
+     * {@link #quiet(ThrowableFunctionExt)} or {@link #fallback(ThrowableFunctionExt, BiFunction)},
+     * so the exceptions swallowed by them are recorded.
+     *
+     * <pre>{@code
+     *   stream.map(quiet(named("geo-lookup", this::lookup)))
+     * }</pre>
+     *
+     * <p>
+     *  When the global metrics is {@link StreamExtMetrics#noop()}, the calls are not recorded,
+     *  but the name is still reported by the JFR events of {@link #fallback(ThrowableFunctionExt, BiFunction)}.
+     *
+     * @param name the name of the function
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the function recording its calls
+     */
+    public static <T,R,E extends Exception> ThrowableFunctionExt<T, R, E> named(String name, ThrowableFunctionExt<T, R, E> throwableMapper) {
+        return named(name, globalMetrics, throwableMapper);
+    }
+
+    /**
+     * Returns a function which records its calls to the given {@link StreamExtMetrics} under the given name.
+     *
+     * @param name the name of the function
+     * @param metrics the metrics to record to, instead of the global one
+     * @param throwableMapper the function that may throw an checked exception.
+     * @param <T> the type of object which the function apply.
+     * @param <R> the type of object which the function returns.
+     * @param <E> the type of exception which the function throws.
+     * @return the function recording its calls
+     * @see #named(String, ThrowableFunctionExt)
+     */
+    public static <T,R,E extends Exception> ThrowableFunctionExt<T, R, E> named(String name, StreamExtMetrics metrics, ThrowableFunctionExt<T, R, E> throwableMapper) {
+        return new Named.OfFunction<>(Objects.requireNonNull(name), Objects.requireNonNull(metrics), Objects.requireNonNull(throwableMapper));
+    }
+
+    /**
+     * Returns a predicate which records its calls to the global {@link StreamExtMetrics} under the given name.
+     *
+     * @param name the name of the predicate
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param <T> the type of object which the predicate test.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the predicate recording its calls
+     * @see #named(String, ThrowableFunctionExt)
+     */
+    public static <T,E extends Exception> ThrowablePredicateExt<T, E> named(String name, ThrowablePredicateExt<T, E> throwablePredicate) {
+        return named(name, globalMetrics, throwablePredicate);
+    }
+
+    /**
+     * Returns a predicate which records its calls to the given {@link StreamExtMetrics} under the given name.
+     *
+     * @param name the name of the predicate
+     * @param metrics the metrics to record to, instead of the global one
+     * @param throwablePredicate the predicate that may throw an checked exception.
+     * @param <T> the type of object which the predicate test.
+     * @param <E> the type of exception which the predicate throws.
+     * @return the predicate recording its calls
+     * @see #named(String, ThrowableFunctionExt)
+     */
+    public static <T,E extends Exception> ThrowablePredicateExt<T, E> named(String name, StreamExtMetrics metrics, ThrowablePredicateExt<T, E> throwablePredicate) {
+        return new Named.OfPredicate<>(Objects.requireNonNull(name), Objects.requireNonNull(metrics), Objects.requireNonNull(throwablePredicate));
+    }
+
+    /**
+     * Returns a consumer which records its calls to the global {@link StreamExtMetrics} under the given name.
+     *
+     * @param name the name of the consumer
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param <T> the type of object which the consumer accept.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the consumer recording its calls
+     * @see #named(String, ThrowableFunctionExt)
+     */
+    public static <T,E extends Exception> ThrowableConsumerExt<T, E> named(String name, ThrowableConsumerExt<T, E> throwableConsumer) {
+        return named(name, globalMetrics, throwableConsumer);
+    }
+
+    /**
+     * Returns a consumer which records its calls to the given {@link StreamExtMetrics} under the given name.
+     *
+     * @param name the name of the consumer
+     * @param metrics the metrics to record to, instead of the global one
+     * @param throwableConsumer the consumer that may throw an checked exception.
+     * @param <T> the type of object which the consumer accept.
+     * @param <E> the type of exception which the consumer throws.
+     * @return the consumer recording its calls
+     * @see #named(String, ThrowableFunctionExt)
+     */
+    public static <T,E extends Exception> ThrowableConsumerExt<T, E> named(String name, StreamExtMetrics metrics, ThrowableConsumerExt<T, E> throwableConsumer) {
+        return new Named.OfConsumer<>(Objects.requireNonNull(name), Objects.requireNonNull(metrics), Objects.requireNonNull(throwableConsumer));
+    }
+
+    /**
+     * throws the {@link FunctionExecutionException}
+     * @param e exception to be wrapped.
+     * @param <R> the type of result
+     * @return nothing
+     */
+    private static <R> R rethrowActually(Exception e) {
+        throw defaultRethrowMode.wrap(e);
+    }
+
+    /**
+     * throws the {@link FunctionExecutionException} constructed in the given mode
+     * @param e exception to be wrapped.
+     * @param mode how the exception is constructed.
+     * @param <R> the type of result
+     * @return nothing
+     */
+    private static <R> R rethrowActually(Exception e, RethrowMode mode) {
+        throw mode.wrap(e);
     }
 
     /**
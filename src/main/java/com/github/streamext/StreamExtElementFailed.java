@@ -0,0 +1,50 @@
+package com.github.streamext;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of an element whose function threw an exception handled by a {@code fallback} wrapper.
+ * Disabled by default, enable {@code com.github.streamext.ElementFailed} in the recording.
+ */
+@Name("com.github.streamext.ElementFailed")
+@Label("Stream Element Failed")
+@Category("StreamExt")
+@Description("A function wrapped by StreamExt.fallback threw an exception")
+@Enabled(false)
+final class StreamExtElementFailed extends Event {
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+
+    @Label("Message")
+    String message;
+
+    @Label("Wrapper Name")
+    @Description("The name given by StreamExt.named, or the class name of the function")
+    String wrapperName;
+
+    /**
+     * never committed, only asked whether enabled, so a disabled event costs a field read without an allocation
+     */
+    private static final StreamExtElementFailed PROBE = new StreamExtElementFailed();
+
+    /**
+     * commits the event if enabled
+     * @param function the function which threw the exception
+     * @param e the exception
+     */
+    static void emit(Object function, Exception e) {
+        if (!PROBE.isEnabled()) {
+            return;
+        }
+        var event = new StreamExtElementFailed();
+        event.exceptionClass = e.getClass();
+        event.message = e.getMessage();
+        event.wrapperName = Named.nameOf(function);
+        event.commit();
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.streamext;
+
+/**
+ * Listener of the calls of the functions named by {@link StreamExt#named(String, ThrowableFunctionExt)}.
+ *
+ * <p>
+ *  The listener is resolved to a {@link Recorder} per name once, when the wrapper is created,
+ *  so recording a call does not look up the name. With {@link #noop()}, the default,
+ *  nothing is recorded: the wrapper only carries the name for the JFR events,
+ *  and a call costs a null check of the recorder.
+ *
+ * @see StreamExt#setGlobalMetrics(StreamExtMetrics)
+ * @see StreamExtMetricsRegistry
+ */
+public interface StreamExtMetrics {
+    /**
+     * Returns the recorder of the calls of the function with the given name.
+     *
+     * @param name the name of the function
+     * @return the recorder
+     */
+    Recorder recorder(String name);
+
+    /**
+     * Returns the listener which records nothing.
+     *
+     * @return the no-op listener
+     */
+    static StreamExtMetrics noop() {
+        return NoopMetrics.INSTANCE;
+    }
+
+    /**
+     * Records the calls of a named function. It is called concurrently from the parallel streams.
+     */
+    interface Recorder {
+        /**
+         * Records a call which returned normally.
+         *
+         * @param nanos the elapsed time of the call in nanoseconds
+         */
+        void recordSuccess(long nanos);
+
+        /**
+         * Records a call which threw an exception.
+         *
+         * @param type the class of the exception
+         * @param nanos the elapsed time of the call in nanoseconds
+         */
+        void recordFailure(Class<? extends Exception> type, long nanos);
+    }
+}
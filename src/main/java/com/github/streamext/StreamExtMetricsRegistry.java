@@ -0,0 +1,127 @@
+package com.github.streamext;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link StreamExtMetrics} which keeps the counters and the latency histogram per name in memory.
+ *
+ * <pre>{@code
+ *   var registry = new StreamExtMetricsRegistry();
+ *   StreamExt.setGlobalMetrics(registry);
+ *   ...
+ *   registry.get("geo-lookup").failureCounts();
+ * }</pre>
+ */
+public final class StreamExtMetricsRegistry implements StreamExtMetrics {
+    private final ConcurrentHashMap<String, NamedMetrics> metrics = new ConcurrentHashMap<>();
+
+    @Override
+    public NamedMetrics recorder(String name) {
+        return metrics.computeIfAbsent(name, NamedMetrics::new);
+    }
+
+    /**
+     * Returns the metrics of the given name.
+     *
+     * @param name the name of the function
+     * @return the metrics, or {@code null} if no function is named so
+     */
+    public NamedMetrics get(String name) {
+        return metrics.get(name);
+    }
+
+    /**
+     * Returns the metrics of all the names.
+     *
+     * @return the unmodifiable map from the name to the metrics
+     */
+    public Map<String, NamedMetrics> all() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * The counters and the latency histogram of a named function.
+     */
+    public static final class NamedMetrics implements Recorder {
+        private final String name;
+        private final LongAdder invocations = new LongAdder();
+        private final ConcurrentHashMap<Class<? extends Exception>, LongAdder> failures = new ConcurrentHashMap<>();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private NamedMetrics(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void recordSuccess(long nanos) {
+            invocations.increment();
+            latency.record(nanos);
+        }
+
+        @Override
+        public void recordFailure(Class<? extends Exception> type, long nanos) {
+            invocations.increment();
+            latency.record(nanos);
+            LongAdder count = failures.get(type);
+            if (count == null) {
+                count = failures.computeIfAbsent(type, t -> new LongAdder());
+            }
+            count.increment();
+        }
+
+        /**
+         * Returns the name of the function.
+         *
+         * @return the name
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Returns the number of calls, including the failed ones.
+         *
+         * @return the number of calls
+         */
+        public long invocationCount() {
+            return invocations.sum();
+        }
+
+        /**
+         * Returns the number of calls which threw an exception.
+         *
+         * @return the number of failed calls
+         */
+        public long failureCount() {
+            long count = 0;
+            for (LongAdder c : failures.values()) {
+                count += c.sum();
+            }
+            return count;
+        }
+
+        /**
+         * Returns the number of the failed calls by the class of the exception.
+         *
+         * @return the snapshot of the counts
+         */
+        public Map<Class<? extends Exception>, Long> failureCounts() {
+            var counts = new HashMap<Class<? extends Exception>, Long>();
+            failures.forEach((type, count) -> counts.put(type, count.sum()));
+            return counts;
+        }
+
+        /**
+         * Returns the histogram of the latencies of the calls.
+         *
+         * @return the histogram
+         */
+        public LatencyHistogram latency() {
+            return latency;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.streamext;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event of an element whose function in a {@code fallback} wrapper took longer than the threshold.
+ * Disabled by default, enable {@code com.github.streamext.SlowElement} in the recording,
+ * and configure its {@code threshold} (100 ms by default).
+ * A call whose fallback throws, as in {@code rethrow}, is recorded only by {@code ElementFailed}.
+ */
+@Name("com.github.streamext.SlowElement")
+@Label("Slow Stream Element")
+@Category("StreamExt")
+@Description("A function wrapped by StreamExt.fallback took longer than the threshold")
+@Enabled(false)
+@Threshold("100 ms")
+@StackTrace(false)
+final class StreamExtSlowElement extends Event {
+    @Label("Wrapper Name")
+    @Description("The name given by StreamExt.named, or the class name of the function")
+    String wrapperName;
+
+    /**
+     * never committed, only asked whether enabled, so a disabled event costs a field read without an allocation
+     */
+    private static final StreamExtSlowElement PROBE = new StreamExtSlowElement();
+
+    /**
+     * starts timing a call if enabled
+     * @return the started event, or {@code null} if disabled
+     */
+    static StreamExtSlowElement start() {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        var event = new StreamExtSlowElement();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * commits the event if the call took longer than the threshold
+     * @param event the event returned by {@link #start()}
+     * @param function the called function
+     */
+    static void finish(StreamExtSlowElement event, Object function) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.wrapperName = Named.nameOf(function);
+            event.commit();
+        }
+    }
+}
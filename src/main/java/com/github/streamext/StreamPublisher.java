@@ -0,0 +1,79 @@
+package com.github.streamext;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * {@link Flow.Publisher} of the elements of a stream, pulled from its spliterator only as the demand arrives.
+ * A stream is consumed once, so only the first subscriber receives the elements, and the others
+ * receive {@link IllegalStateException}. The stream is closed when the subscription is terminated or cancelled.
+ *
+ * @param <T> the type of the elements
+ */
+final class StreamPublisher<T> implements Flow.Publisher<T> {
+    private final Stream<T> stream;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    StreamPublisher(Stream<T> stream, Executor executor) {
+        this.stream = Objects.requireNonNull(stream);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            rejectSubscriber(subscriber);
+            return;
+        }
+        new Emitter<>(subscriber, executor, stream).start();
+    }
+
+    static void rejectSubscriber(Flow.Subscriber<?> subscriber) {
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                // terminated
+            }
+
+            @Override
+            public void cancel() {
+                // terminated
+            }
+        });
+        subscriber.onError(new IllegalStateException("the stream has already been subscribed"));
+    }
+
+    private static final class Emitter<T> extends StreamSubscription<T> {
+        private final Stream<T> stream;
+        private Spliterator<T> spliterator;
+
+        Emitter(Flow.Subscriber<? super T> subscriber, Executor executor, Stream<T> stream) {
+            super(subscriber, executor);
+            this.stream = stream;
+        }
+
+        @Override
+        void drain() {
+            if (spliterator == null) {
+                spliterator = stream.spliterator();
+            }
+            while (hasDemand()) {
+                if (!spliterator.tryAdvance(t -> emit(Objects.requireNonNull(t, "the stream has a null element")))) {
+                    complete();
+                    return;
+                }
+            }
+        }
+
+        @Override
+        void release() {
+            stream.close();
+        }
+    }
+}
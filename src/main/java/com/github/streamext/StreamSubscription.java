@@ -0,0 +1,153 @@
+package com.github.streamext;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Flow.Subscription} which emits the elements of a stream to a subscriber up to its demand.
+ *
+ * <p>
+ *  {@link #request(long)}, {@link #cancel()} and the completions of the asynchronous calls only
+ *  signal it. The signals are counted, and the first one runs {@link #drain()} on the executor,
+ *  which loops until no signal has arrived during the last run, so the subscriber is called by
+ *  one thread at a time, and no thread waits for the demand. The subscription holds a signal while
+ *  {@link Flow.Subscriber#onSubscribe(Flow.Subscription)} runs, so a request in it is drained after it returned.
+ *
+ * @param <T> the type of the emitted elements
+ */
+abstract class StreamSubscription<T> implements Flow.Subscription, Runnable {
+    final Flow.Subscriber<? super T> subscriber;
+    private final Executor executor;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger signals = new AtomicInteger(1);
+    private volatile boolean cancelled;
+    private volatile long invalidRequest;
+    private boolean terminated;
+    long emitted;
+
+    StreamSubscription(Flow.Subscriber<? super T> subscriber, Executor executor) {
+        this.subscriber = subscriber;
+        this.executor = executor;
+    }
+
+    /**
+     * subscribes the subscriber, and releases the signal held while it runs
+     */
+    final void start() {
+        subscriber.onSubscribe(this);
+        if (signals.decrementAndGet() != 0) {
+            execute();
+        }
+    }
+
+    @Override
+    public final void request(long n) {
+        if (n <= 0) {
+            // §3.9, signalled by onError from the drain
+            invalidRequest = n;
+        } else {
+            requested.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+        }
+        signal();
+    }
+
+    @Override
+    public final void cancel() {
+        cancelled = true;
+        signal();
+    }
+
+    final void signal() {
+        if (signals.getAndIncrement() == 0) {
+            execute();
+        }
+    }
+
+    private void execute() {
+        try {
+            executor.execute(this);
+        } catch (RejectedExecutionException e) {
+            // the drain is not running, as the signal has not been released
+            fail(e);
+        }
+    }
+
+    @Override
+    public final void run() {
+        int missed = signals.get();
+        for (;;) {
+            if (!terminated) {
+                if (cancelled) {
+                    terminated = true;
+                    release();
+                } else if (invalidRequest != 0) {
+                    fail(new IllegalArgumentException("non-positive request: " + invalidRequest));
+                } else {
+                    try {
+                        drain();
+                    } catch (Throwable e) {
+                        fail(e);
+                    }
+                }
+            }
+            missed = signals.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    final boolean hasDemand() {
+        return emitted < requested.get() && !cancelled;
+    }
+
+    final long demand() {
+        return cancelled ? 0 : requested.get() - emitted;
+    }
+
+    final void emit(T t) {
+        emitted++;
+        subscriber.onNext(t);
+    }
+
+    final void complete() {
+        terminated = true;
+        release();
+        subscriber.onComplete();
+    }
+
+    final void fail(Throwable e) {
+        terminated = true;
+        try {
+            release();
+        } catch (RuntimeException suppressed) {
+            e.addSuppressed(suppressed);
+        }
+        subscriber.onError(unwrap(e));
+    }
+
+    /**
+     * returns the exception thrown by a function, instead of the wrapper thrown by {@code rethrow}
+     * or by a completion stage
+     */
+    static Throwable unwrap(Throwable e) {
+        if ((e instanceof FunctionExecutionException || e instanceof CompletionException) && e.getCause() != null) {
+            return e.getCause();
+        }
+        return e;
+    }
+
+    /**
+     * emits the elements up to the demand, and completes or fails when the stream ended
+     */
+    abstract void drain();
+
+    /**
+     * releases the resources when terminated or cancelled
+     */
+    abstract void release();
+}
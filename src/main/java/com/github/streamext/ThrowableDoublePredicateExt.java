@@ -0,0 +1,20 @@
+package com.github.streamext;
+
+/**
+ * Represents a {@link java.util.function.DoublePredicate} but throws
+ * checked exception(s).
+ *
+ * @param <E> the type of the exception may be thrown by the predicate
+ */
+@FunctionalInterface
+public interface ThrowableDoublePredicateExt<E extends Exception> {
+    /**
+     * Evaluates this predicate on the given argument.
+     *
+     * @param value the input argument
+     * @return {@code true} if the input argument matches the predicate,
+     * otherwise {@code false}
+     * @throws E the exception
+     */
+    boolean test(double value) throws E;
+}
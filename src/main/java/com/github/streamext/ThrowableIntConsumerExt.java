@@ -0,0 +1,18 @@
+package com.github.streamext;
+
+/**
+ * Represents a {@link java.util.function.IntConsumer} but throws
+ * checked exception(s).
+ *
+ * @param <E> the type of the exception may be thrown
+ */
+@FunctionalInterface
+public interface ThrowableIntConsumerExt<E extends Exception> {
+    /**
+     * Performs this operation on the given argument.
+     *
+     * @param value the input argument
+     * @throws E the exception
+     */
+    void accept(int value) throws E;
+}
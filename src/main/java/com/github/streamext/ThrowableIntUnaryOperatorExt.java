@@ -0,0 +1,19 @@
+package com.github.streamext;
+
+/**
+ * Represents a {@link java.util.function.IntUnaryOperator} but throws
+ * checked exception(s).
+ *
+ * @param <E> the type of the exception may be thrown by the operator
+ */
+@FunctionalInterface
+public interface ThrowableIntUnaryOperatorExt<E extends Exception> {
+    /**
+     * Applies this operator to the given operand.
+     *
+     * @param operand the operand
+     * @return the operator result
+     * @throws E the exception
+     */
+    int applyAsInt(int operand) throws E;
+}
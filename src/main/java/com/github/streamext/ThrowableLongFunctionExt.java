@@ -0,0 +1,20 @@
+package com.github.streamext;
+
+/**
+ * Represents a {@link java.util.function.LongFunction} but throws
+ * checked exception(s).
+ *
+ * @param <R> the type of the result of the function
+ * @param <E> the type of the exception may be thrown by the function
+ */
+@FunctionalInterface
+public interface ThrowableLongFunctionExt<R, E extends Exception> {
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param value the function argument
+     * @return the function result
+     * @throws E the exception
+     */
+    R apply(long value) throws E;
+}
@@ -0,0 +1,20 @@
+package com.github.streamext;
+
+/**
+ * Represents a {@link java.util.function.ToDoubleFunction} but throws
+ * checked exception(s).
+ *
+ * @param <T> the type of the input to the function
+ * @param <E> the type of the exception may be thrown by the function
+ */
+@FunctionalInterface
+public interface ThrowableToDoubleFunctionExt<T, E extends Exception> {
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param t the function argument
+     * @return the function result
+     * @throws E the exception
+     */
+    double applyAsDouble(T t) throws E;
+}
@@ -0,0 +1,20 @@
+package com.github.streamext;
+
+/**
+ * Represents a {@link java.util.function.ToIntFunction} but throws
+ * checked exception(s).
+ *
+ * @param <T> the type of the input to the function
+ * @param <E> the type of the exception may be thrown by the function
+ */
+@FunctionalInterface
+public interface ThrowableToIntFunctionExt<T, E extends Exception> {
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param t the function argument
+     * @return the function result
+     * @throws E the exception
+     */
+    int applyAsInt(T t) throws E;
+}
@@ -0,0 +1,20 @@
+package com.github.streamext;
+
+/**
+ * Represents a {@link java.util.function.ToLongFunction} but throws
+ * checked exception(s).
+ *
+ * @param <T> the type of the input to the function
+ * @param <E> the type of the exception may be thrown by the function
+ */
+@FunctionalInterface
+public interface ThrowableToLongFunctionExt<T, E extends Exception> {
+    /**
+     * Applies this function to the given argument.
+     *
+     * @param t the function argument
+     * @return the function result
+     * @throws E the exception
+     */
+    long applyAsLong(T t) throws E;
+}
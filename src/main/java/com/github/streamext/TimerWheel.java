@@ -0,0 +1,150 @@
+package com.github.streamext;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timer wheel which cancels the calls exceeded their deadlines.
+ *
+ * <p>
+ *  Scheduling a timeout is an enqueue to a lock-free queue, and cancelling it is a CAS,
+ *  so it is cheap enough to be done for every element of a stream. A single worker thread
+ *  moves the new timeouts into the buckets and expires a bucket per tick. The cancelled
+ *  timeouts are dropped when their bucket is visited. The worker parks while no timeout is scheduled.
+ */
+final class TimerWheel {
+    static final TimerWheel SHARED = new TimerWheel(TimeUnit.MILLISECONDS.toNanos(1), 512);
+
+    private final long tickNanos;
+    private final int mask;
+    private final ArrayDeque<Timeout>[] buckets;
+    private final ConcurrentLinkedQueue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final Thread worker;
+    private final long startNanos;
+    private long tick;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimerWheel(long tickNanos, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of 2: " + wheelSize);
+        }
+        this.tickNanos = tickNanos;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayDeque[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.startNanos = System.nanoTime();
+        this.worker = Thread.ofPlatform().name("streamext-timer").daemon().unstarted(this::run);
+        worker.start();
+    }
+
+    /**
+     * Schedules to cancel the call at the deadline, interrupting the thread running it.
+     *
+     * @param target the call to be cancelled
+     * @param deadlineNanos the deadline in {@link System#nanoTime()}
+     * @return the timeout, to be cancelled when the call finished
+     */
+    Timeout schedule(Future<?> target, long deadlineNanos) {
+        var timeout = new Timeout(target, deadlineNanos);
+        // counted before enqueued, so the worker does not park with a timeout in the queue
+        if (outstanding.getAndIncrement() == 0) {
+            LockSupport.unpark(worker);
+        }
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        for (;;) {
+            if (outstanding.get() == 0) {
+                LockSupport.park(this);
+                // skip the ticks while parked
+                tick = Math.max(tick, (System.nanoTime() - startNanos) / tickNanos);
+                continue;
+            }
+            long sleep = startNanos + (tick + 1) * tickNanos - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+            transferScheduled();
+            expire(buckets[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferScheduled() {
+        long now = System.nanoTime();
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.isDone()) {
+                outstanding.decrementAndGet();
+                continue;
+            }
+            long remaining = timeout.deadlineNanos - now;
+            long delayTicks = remaining <= 0 ? 0 : remaining / tickNanos + 1;
+            timeout.rounds = delayTicks / buckets.length;
+            buckets[(int) ((tick + delayTicks) & mask)].add(timeout);
+        }
+    }
+
+    private void expire(ArrayDeque<Timeout> bucket) {
+        for (Iterator<Timeout> it = bucket.iterator(); it.hasNext(); ) {
+            Timeout timeout = it.next();
+            if (timeout.isDone()) {
+                it.remove();
+                outstanding.decrementAndGet();
+            } else if (timeout.rounds > 0) {
+                timeout.rounds--;
+            } else {
+                it.remove();
+                outstanding.decrementAndGet();
+                timeout.expire();
+            }
+        }
+    }
+
+    /**
+     * a scheduled timeout of a call
+     */
+    static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int EXPIRED = 1;
+        private static final int CANCELLED = 2;
+
+        private final Future<?> target;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long rounds;
+
+        private Timeout(Future<?> target, long deadlineNanos) {
+            this.target = target;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Cancels this timeout when the call finished.
+         */
+        void cancel() {
+            state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        private boolean isDone() {
+            return state.get() != PENDING;
+        }
+
+        private void expire() {
+            if (state.compareAndSet(PENDING, EXPIRED)) {
+                target.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.streamext;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * the factory of the virtual threads on which the wrappers run the calls
+ */
+final class VirtualThreads {
+    static final ThreadFactory FACTORY = Thread.ofVirtual().name("streamext-", 0).factory();
+
+    private VirtualThreads() {
+
+    }
+
+    /**
+     * starts the task on a new virtual thread
+     * @param task the task
+     */
+    static void start(Runnable task) {
+        FACTORY.newThread(task).start();
+    }
+}
@@ -1,16 +1,27 @@
 package com.github.streamext.extensions;
 
-import com.github.streamext.FunctionExecutionException;
-import com.github.streamext.ThrowableConsumerExt;
-import com.github.streamext.ThrowableFunctionExt;
-import com.github.streamext.ThrowablePredicateExt;
+import com.github.streamext.*;
 
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.function.BiConsumer;
-import java.util.function.BiFunction;
-import java.util.function.BiPredicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.*;
+import java.util.stream.*;
 
 import static com.github.streamext.StreamExt.*;
 
@@ -67,40 +78,94 @@ public class StreamExtOps {
         return stream.filter(quiet(predicate));
     }
 
+    /**
+     * Returns a stream consisting of the elements of this stream that match
+     * the given predicate. The elements for which the predicate throws an exception
+     * are excluded and kept by the {@link DeadLetterSink}.
+     *
+     * @param stream this stream
+     * @param predicate predicate to apply to each element to determine if it
+     *                  should be included
+     * @param deadLetters the sink of the failed elements
+     * @param <T> the type of the stream elements
+     * @param <E> the type of the throwable which the predicate throws
+     * @return the new stream
+     */
+    public static <T,E extends Exception> Stream<T> filterQuiet(Stream<T> stream, ThrowablePredicateExt<T,E> predicate, DeadLetterSink<T> deadLetters) {
+        return stream.filter(fallback(predicate, deadLetters.rejecting()));
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream that match
+     * the given predicate, handling the exceptions by the rules of {@code policy}.
+     * The elements skipped by the policy are excluded.
+     *
+     * @param stream this stream
+     * @param predicate predicate to apply to each element to determine if it
+     *                  should be included
+     * @param policy the rules to handle the exceptions by the type
+     * @param <T> the type of the stream elements
+     * @param <E> the type of the throwable which the predicate throws
+     * @return the new stream
+     * @see StreamExt#fallback(ThrowablePredicateExt, ExceptionPolicy)
+     */
+    public static <T,E extends Exception> Stream<T> filterE(Stream<T> stream, ThrowablePredicateExt<T,E> predicate, ExceptionPolicy policy) {
+        return stream.filter(fallback(predicate, policy));
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream that match
+     * the given predicate, stopping all the workers of a parallel stream as soon as
+     * the predicate throws an exception.
+     * {@link FunctionExecutionException} is thrown when the predicate throws an exception,
+     * with the exceptions thrown concurrently by the other workers suppressed.
+     *
+     * @param stream this stream
+     * @param predicate predicate to apply to each element to determine if it
+     *                  should be included
+     * @param <T> the type of the stream elements
+     * @param <E> the type of the throwable which the predicate throws
+     * @return the new stream
+     * @see StreamExt#failFast(Stream)
+     */
+    public static <T,E extends Exception> Stream<T> filterFailFastE(Stream<T> stream, ThrowablePredicateExt<T,E> predicate) {
+        return failFast(stream).filter(rethrow(predicate));
+    }
+
     public static <T,E extends Exception> boolean allMatchE(Stream<T> stream, ThrowablePredicateExt<T,E> predicate) {
-        return stream.allMatch(rethrow(predicate));
+        return StreamExtPipeline.test("allMatchE", stream, () -> stream.allMatch(rethrow(predicate)));
     }
 
     public static <T,E extends Exception> boolean allMatchE(Stream<T> stream, ThrowablePredicateExt<T,E> predicate, BiPredicate<T,Exception> fallbackFunction) {
-        return stream.allMatch(fallback(predicate, fallbackFunction));
+        return StreamExtPipeline.test("allMatchE", stream, () -> stream.allMatch(fallback(predicate, fallbackFunction)));
     }
 
     public static <T,E extends Exception> boolean allMatchQuiet(Stream<T> stream, ThrowablePredicateExt<T,E> predicate) {
-        return stream.allMatch(quiet(predicate));
+        return StreamExtPipeline.test("allMatchQuiet", stream, () -> stream.allMatch(quiet(predicate)));
     }
 
     public static <T,E extends Exception> boolean anyMatchE(Stream<T> stream, ThrowablePredicateExt<T,E> predicate) {
-        return stream.anyMatch(rethrow(predicate));
+        return StreamExtPipeline.test("anyMatchE", stream, () -> stream.anyMatch(rethrow(predicate)));
     }
 
     public static <T,E extends Exception> boolean anyMatchE(Stream<T> stream, ThrowablePredicateExt<T,E> predicate, BiPredicate<T,Exception> fallbackFunction) {
-        return stream.anyMatch(fallback(predicate, fallbackFunction));
+        return StreamExtPipeline.test("anyMatchE", stream, () -> stream.anyMatch(fallback(predicate, fallbackFunction)));
     }
 
     public static <T,E extends Exception> boolean anyMatchQuiet(Stream<T> stream, ThrowablePredicateExt<T,E> predicate) {
-        return stream.anyMatch(quiet(predicate));
+        return StreamExtPipeline.test("anyMatchQuiet", stream, () -> stream.anyMatch(quiet(predicate)));
     }
 
     public static <T,E extends Exception> boolean nonMatchE(Stream<T> stream, ThrowablePredicateExt<T,E> predicate) {
-        return stream.noneMatch(rethrow(predicate));
+        return StreamExtPipeline.test("nonMatchE", stream, () -> stream.noneMatch(rethrow(predicate)));
     }
 
     public static <T,E extends Exception> boolean nonMatchE(Stream<T> stream, ThrowablePredicateExt<T,E> predicate, BiPredicate<T,Exception> fallbackFunction) {
-        return stream.noneMatch(fallback(predicate, fallbackFunction));
+        return StreamExtPipeline.test("nonMatchE", stream, () -> stream.noneMatch(fallback(predicate, fallbackFunction)));
     }
 
     public static <T,E extends Exception> boolean nonMatchQuiet(Stream<T> stream, ThrowablePredicateExt<T,E> predicate) {
-        return stream.noneMatch(quiet(predicate));
+        return StreamExtPipeline.test("nonMatchQuiet", stream, () -> stream.noneMatch(quiet(predicate)));
     }
 
     /**
@@ -128,6 +193,125 @@ public class StreamExtOps {
         return stream.map(quiet(mapper));
     }
 
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream. The elements for which the function throws
+     * an exception are dropped and kept by the {@link DeadLetterSink}.
+     *
+     * @param stream this stream
+     * @param mapper function to apply to each element
+     * @param deadLetters the sink of the failed elements
+     * @param <T> the type of the stream elements
+     * @param <R> the element type of the new stream
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     * @see StreamExt#skipping(ThrowableFunctionExt, BiConsumer)
+     */
+    public static <T,R,E extends Exception> Stream<R> mapQuiet(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper, DeadLetterSink<T> deadLetters) {
+        return stream.mapMulti(skipping(mapper, deadLetters));
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream, as {@link Result}s:
+     * the value, or the exception with the element if the function throws.
+     * Collect them by {@link #partitionResults()} or {@link #toListOrFailures()}.
+     *
+     * @param stream this stream
+     * @param mapper function to apply to each element
+     * @param <T> the type of the stream elements
+     * @param <R> the type of the values
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     * @see StreamExt#attempt(ThrowableFunctionExt)
+     */
+    public static <T,R,E extends Exception> Stream<Result<T,R>> mapTry(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper) {
+        return stream.map(attempt(mapper));
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream, limiting the time of each call.
+     * When a call exceeds the timeout, it is interrupted and {@link FunctionExecutionException}
+     * is thrown with {@link java.util.concurrent.TimeoutException} as the cause.
+     *
+     * @param stream this stream
+     * @param mapper function to apply to each element
+     * @param timeout the maximum time of each call
+     * @param <T> the type of the stream elements
+     * @param <R> the element type of the new stream
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     * @see StreamExt#withTimeout(ThrowableFunctionExt, Duration)
+     */
+    public static <T,R,E extends Exception> Stream<R> mapE(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper, Duration timeout) {
+        return stream.map(rethrow(withTimeout(mapper, timeout)));
+    }
+
+    public static <T,R,E extends Exception> Stream<R> mapE(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper, Duration timeout, BiFunction<T, Exception, R> fallbackFunction) {
+        return stream.map(fallback(withTimeout(mapper, timeout), fallbackFunction));
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream, which have to finish by the deadline.
+     * When a call exceeds the deadline, it is interrupted and {@link FunctionExecutionException}
+     * is thrown with {@link java.util.concurrent.TimeoutException} as the cause.
+     *
+     * @param stream this stream
+     * @param mapper function to apply to each element
+     * @param deadline the deadline of the whole stream
+     * @param <T> the type of the stream elements
+     * @param <R> the element type of the new stream
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     * @see StreamExt#withDeadline(ThrowableFunctionExt, Instant)
+     */
+    public static <T,R,E extends Exception> Stream<R> mapE(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper, Instant deadline) {
+        return stream.map(rethrow(withDeadline(mapper, deadline)));
+    }
+
+    public static <T,R,E extends Exception> Stream<R> mapE(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper, Instant deadline, BiFunction<T, Exception, R> fallbackFunction) {
+        return stream.map(fallback(withDeadline(mapper, deadline), fallbackFunction));
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream, handling the exceptions by the rules of {@code policy}.
+     * The elements skipped by the policy are dropped from the stream.
+     *
+     * @param stream this stream
+     * @param mapper function to apply to each element
+     * @param policy the rules to handle the exceptions by the type
+     * @param <T> the type of the stream elements
+     * @param <R> the element type of the new stream
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     * @see StreamExt#skipping(ThrowableFunctionExt, ExceptionPolicy)
+     */
+    public static <T,R,E extends Exception> Stream<R> mapE(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper, ExceptionPolicy policy) {
+        return stream.mapMulti(skipping(mapper, policy));
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream, stopping all the workers of a parallel stream
+     * as soon as the function throws an exception.
+     * {@link FunctionExecutionException} is thrown when the function throws an exception,
+     * with the exceptions thrown concurrently by the other workers suppressed.
+     *
+     * @param stream this stream
+     * @param mapper function to apply to each element
+     * @param <T> the type of the stream elements
+     * @param <R> the element type of the new stream
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     * @see StreamExt#failFast(Stream)
+     */
+    public static <T,R,E extends Exception> Stream<R> mapFailFastE(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper) {
+        return failFast(stream).map(rethrow(mapper));
+    }
+
     public static <T,R,E extends Exception> Stream<R> flatMapE(Stream<T> stream, ThrowableFunctionExt<T,Stream<R>,E> mapper) {
         return stream.flatMap(rethrow(mapper));
     }
@@ -140,31 +324,1294 @@ public class StreamExtOps {
         return stream.flatMap(fallback(mapper, (t,e) -> Stream.empty()));
     }
 
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream on virtual threads.
+     * At most {@code maxInFlight} calls run at the same time, and the results
+     * are in encounter order.
+     * {@link FunctionExecutionException} is thrown when the mapper throws an exception.
+     *
+     * @param stream this stream
+     * @param maxInFlight the maximum number of calls running at the same time
+     * @param mapper function to apply to each element
+     * @param <T> the type of the stream elements
+     * @param <R> the element type of the new stream
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     */
+    public static <T,R,E extends Exception> Stream<R> mapConcurrentE(Stream<T> stream, int maxInFlight, ThrowableFunctionExt<T,R,E> mapper) {
+        return mapConcurrent(stream, maxInFlight, rethrow(mapper));
+    }
+
+    public static <T,R,E extends Exception> Stream<R> mapConcurrentE(Stream<T> stream, int maxInFlight, ThrowableFunctionExt<T,R,E> mapper, BiFunction<T, Exception, R> fallbackFunction) {
+        return mapConcurrent(stream, maxInFlight, fallback(mapper, fallbackFunction));
+    }
+
+    public static <T,R,E extends Exception> Stream<R> mapConcurrentQuiet(Stream<T> stream, int maxInFlight, ThrowableFunctionExt<T,R,E> mapper) {
+        return mapConcurrent(stream, maxInFlight, quiet(mapper));
+    }
+
+    /**
+     * Same as {@link #mapConcurrentE(Stream, int, ThrowableFunctionExt)}, but the results
+     * are in completion order.
+     *
+     * @param stream this stream
+     * @param maxInFlight the maximum number of calls running at the same time
+     * @param mapper function to apply to each element
+     * @param <T> the type of the stream elements
+     * @param <R> the element type of the new stream
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     */
+    public static <T,R,E extends Exception> Stream<R> mapConcurrentUnorderedE(Stream<T> stream, int maxInFlight, ThrowableFunctionExt<T,R,E> mapper) {
+        return mapConcurrentUnordered(stream, maxInFlight, rethrow(mapper));
+    }
+
+    public static <T,R,E extends Exception> Stream<R> mapConcurrentUnorderedE(Stream<T> stream, int maxInFlight, ThrowableFunctionExt<T,R,E> mapper, BiFunction<T, Exception, R> fallbackFunction) {
+        return mapConcurrentUnordered(stream, maxInFlight, fallback(mapper, fallbackFunction));
+    }
+
+    public static <T,R,E extends Exception> Stream<R> mapConcurrentUnorderedQuiet(Stream<T> stream, int maxInFlight, ThrowableFunctionExt<T,R,E> mapper) {
+        return mapConcurrentUnordered(stream, maxInFlight, quiet(mapper));
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream, hedging the slow calls.
+     * When a call has not finished after {@code hedgeAfter}, a duplicate attempt is started
+     * on a virtual thread, up to {@code maxAttempts}, and the first one to succeed wins.
+     * {@link FunctionExecutionException} is thrown when all the attempts throw an exception.
+     *
+     * @param stream this stream
+     * @param mapper idempotent function to apply to each element
+     * @param hedgeAfter the delay before a duplicate attempt
+     * @param maxAttempts the maximum number of attempts for an element, including the first
+     * @param <T> the type of the stream elements
+     * @param <R> the element type of the new stream
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     * @see StreamExt#hedged(ThrowableFunctionExt, HedgePolicy)
+     */
+    public static <T,R,E extends Exception> Stream<R> mapHedgedE(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper, Duration hedgeAfter, int maxAttempts) {
+        return stream.map(rethrow(hedged(mapper, HedgePolicy.after(hedgeAfter, maxAttempts))));
+    }
+
+    public static <T,R,E extends Exception> Stream<R> mapHedgedE(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper, Duration hedgeAfter, int maxAttempts, BiFunction<T, Exception, R> fallbackFunction) {
+        return stream.map(fallback(hedged(mapper, HedgePolicy.after(hedgeAfter, maxAttempts)), fallbackFunction));
+    }
+
+    public static <T,R,E extends Exception> Stream<R> mapHedgedQuiet(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper, Duration hedgeAfter, int maxAttempts) {
+        return stream.map(quiet(hedged(mapper, HedgePolicy.after(hedgeAfter, maxAttempts))));
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * function to the elements of this stream, at most {@code permitsPerSecond} calls per second.
+     * The caller is parked until its time slot, so a parallel stream as a whole keeps the rate.
+     * {@link FunctionExecutionException} is thrown when the mapper throws an exception.
+     *
+     * @param stream this stream
+     * @param mapper function to apply to each element
+     * @param permitsPerSecond the number of the calls per second
+     * @param burst the maximum number of the calls at once after an idle period
+     * @param <T> the type of the stream elements
+     * @param <R> the element type of the new stream
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     * @see StreamExt#rateLimited(ThrowableFunctionExt, double, int)
+     */
+    public static <T,R,E extends Exception> Stream<R> mapRateLimitedE(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper, double permitsPerSecond, int burst) {
+        return stream.map(rethrow(rateLimited(mapper, permitsPerSecond, burst)));
+    }
+
+    public static <T,R,E extends Exception> Stream<R> mapRateLimitedE(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper, double permitsPerSecond, int burst, BiFunction<T, Exception, R> fallbackFunction) {
+        return stream.map(fallback(rateLimited(mapper, permitsPerSecond, burst), fallbackFunction));
+    }
+
+    public static <T,R,E extends Exception> Stream<R> mapRateLimitedE(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper, RateLimiter limiter) {
+        return stream.map(rethrow(rateLimited(mapper, limiter)));
+    }
+
+    public static <T,R,E extends Exception> Stream<R> mapRateLimitedE(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper, RateLimiter limiter, BiFunction<T, Exception, R> fallbackFunction) {
+        return stream.map(fallback(rateLimited(mapper, limiter), fallbackFunction));
+    }
+
+    public static <T,R,E extends Exception> Stream<R> mapRateLimitedQuiet(Stream<T> stream, ThrowableFunctionExt<T,R,E> mapper, double permitsPerSecond, int burst) {
+        return stream.map(quiet(rateLimited(mapper, permitsPerSecond, burst)));
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given bulk mapper
+     * to the batches of the elements of this stream, flattened in encounter order.
+     * A batch is closed when it has {@code batchSize} elements or {@code maxDelay} has elapsed.
+     * {@link FunctionExecutionException} is thrown when the bulk mapper throws an exception.
+     *
+     * @param stream this stream
+     * @param batchSize the maximum number of elements in a batch
+     * @param maxDelay the maximum time to wait for the source to fill a batch
+     * @param bulkMapper function to apply to each batch. It has to return the results
+     *                   in the same number and order as the batch.
+     * @param <T> the type of the stream elements
+     * @param <R> the element type of the new stream
+     * @param <E> the type of the throwable which the bulk mapper throws
+     * @return the new stream
+     * @see StreamExt#mapBatched(Stream, int, Duration, Function)
+     */
+    public static <T,R,E extends Exception> Stream<R> mapBatchedE(Stream<T> stream, int batchSize, Duration maxDelay, ThrowableFunctionExt<List<T>,List<R>,E> bulkMapper) {
+        return mapBatched(stream, batchSize, maxDelay, rethrow(bulkMapper));
+    }
+
+    /**
+     * Same as {@link #mapBatchedE(Stream, int, Duration, ThrowableFunctionExt)}, but
+     * {@code fallbackFunction} is called with the whole batch when the bulk mapper throws an exception.
+     * To retry the elements one by one, pass {@link StreamExt#retryEach(ThrowableFunctionExt, BiFunction)}.
+     *
+     * @param stream this stream
+     * @param batchSize the maximum number of elements in a batch
+     * @param maxDelay the maximum time to wait for the source to fill a batch
+     * @param bulkMapper function to apply to each batch
+     * @param fallbackFunction handle the exception thrown by the bulk mapper
+     * @param <T> the type of the stream elements
+     * @param <R> the element type of the new stream
+     * @param <E> the type of the throwable which the bulk mapper throws
+     * @return the new stream
+     */
+    public static <T,R,E extends Exception> Stream<R> mapBatchedE(Stream<T> stream, int batchSize, Duration maxDelay, ThrowableFunctionExt<List<T>,List<R>,E> bulkMapper, BiFunction<List<T>, Exception, List<R>> fallbackFunction) {
+        return mapBatched(stream, batchSize, maxDelay, fallback(bulkMapper, fallbackFunction));
+    }
+
+    public static <T,R,E extends Exception> Stream<R> mapBatchedQuiet(Stream<T> stream, int batchSize, Duration maxDelay, ThrowableFunctionExt<List<T>,List<R>,E> bulkMapper) {
+        return mapBatched(stream, batchSize, maxDelay, fallback(bulkMapper, (batch, e) -> Collections.nCopies(batch.size(), null)));
+    }
+
     public static<T,E extends Exception> void forEachE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer) {
-        stream.forEach(rethrow(consumer));
+        StreamExtPipeline.run("forEachE", stream, () -> stream.forEach(rethrow(consumer)));
     }
 
     public static<T,E extends Exception> void forEachE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, BiConsumer<T,Exception> fallbackFunction) {
-        stream.forEach(fallback(consumer, fallbackFunction));
+        StreamExtPipeline.run("forEachE", stream, () -> stream.forEach(fallback(consumer, fallbackFunction)));
     }
 
     public static<T,E extends Exception> void forEachQuiet(Stream<T> stream, ThrowableConsumerExt<T,E> consumer) {
-        stream.forEach(quiet(consumer));
+        StreamExtPipeline.run("forEachQuiet", stream, () -> stream.forEach(quiet(consumer)));
+    }
+
+    public static<T,E extends Exception> void forEachQuiet(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, DeadLetterSink<T> deadLetters) {
+        StreamExtPipeline.run("forEachQuiet", stream, () -> stream.forEach(fallback(consumer, deadLetters)));
+    }
+
+    public static<T,E extends Exception> void forEachE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, Duration timeout) {
+        StreamExtPipeline.run("forEachE", stream, () -> stream.forEach(rethrow(withTimeout(consumer, timeout))));
+    }
+
+    public static<T,E extends Exception> void forEachE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, Duration timeout, BiConsumer<T,Exception> fallbackFunction) {
+        StreamExtPipeline.run("forEachE", stream, () -> stream.forEach(fallback(withTimeout(consumer, timeout), fallbackFunction)));
+    }
+
+    public static<T,E extends Exception> void forEachE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, Instant deadline) {
+        StreamExtPipeline.run("forEachE", stream, () -> stream.forEach(rethrow(withDeadline(consumer, deadline))));
+    }
+
+    public static<T,E extends Exception> void forEachE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, Instant deadline, BiConsumer<T,Exception> fallbackFunction) {
+        StreamExtPipeline.run("forEachE", stream, () -> stream.forEach(fallback(withDeadline(consumer, deadline), fallbackFunction)));
+    }
+
+    public static<T,E extends Exception> void forEachE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, ExceptionPolicy policy) {
+        StreamExtPipeline.run("forEachE", stream, () -> stream.forEach(fallback(consumer, policy)));
+    }
+
+    public static<T,E extends Exception> void forEachFailFastE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer) {
+        StreamExtPipeline.run("forEachFailFastE", stream, () -> failFast(stream).forEach(rethrow(consumer)));
+    }
+
+    /**
+     * Performs an action for each element of this stream, saving the progress to the store every second,
+     * so the stream restarted after a crash skips the elements already completed.
+     * {@link FunctionExecutionException} is thrown when the action throws an exception,
+     * after the progress is saved.
+     *
+     * @param stream this stream, producing the same elements in the same order on each run
+     * @param consumer action to perform on the elements
+     * @param store the store of the checkpoint
+     * @param <T> the type of the stream elements
+     * @param <E> the type of the throwable which the action throws
+     * @see StreamExt#forEachCheckpointed(Stream, Consumer, CheckpointStore, Duration)
+     */
+    public static<T,E extends Exception> void forEachCheckpointedE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, CheckpointStore store) {
+        forEachCheckpointedE(stream, consumer, store, Duration.ofSeconds(1));
+    }
+
+    public static<T,E extends Exception> void forEachCheckpointedE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, CheckpointStore store, Duration interval) {
+        StreamExtPipeline.run("forEachCheckpointedE", stream, () -> forEachCheckpointed(stream, rethrow(consumer), store, interval));
+    }
+
+    public static<T,E extends Exception> void forEachCheckpointedE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, CheckpointStore store, BiConsumer<T,Exception> fallbackFunction) {
+        StreamExtPipeline.run("forEachCheckpointedE", stream, () -> forEachCheckpointed(stream, fallback(consumer, fallbackFunction), store, Duration.ofSeconds(1)));
+    }
+
+    /**
+     * Performs an action for each element of this stream, at most {@code permitsPerSecond} calls per second.
+     * {@link FunctionExecutionException} is thrown when the action throws an exception.
+     *
+     * @param stream this stream
+     * @param consumer action to perform on the elements
+     * @param permitsPerSecond the number of the calls per second
+     * @param burst the maximum number of the calls at once after an idle period
+     * @param <T> the type of the stream elements
+     * @param <E> the type of the throwable which the action throws
+     * @see StreamExt#rateLimited(ThrowableConsumerExt, double, int)
+     */
+    public static<T,E extends Exception> void forEachRateLimitedE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, double permitsPerSecond, int burst) {
+        StreamExtPipeline.run("forEachRateLimitedE", stream, () -> stream.forEach(rethrow(rateLimited(consumer, permitsPerSecond, burst))));
+    }
+
+    public static<T,E extends Exception> void forEachRateLimitedE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, double permitsPerSecond, int burst, BiConsumer<T,Exception> fallbackFunction) {
+        StreamExtPipeline.run("forEachRateLimitedE", stream, () -> stream.forEach(fallback(rateLimited(consumer, permitsPerSecond, burst), fallbackFunction)));
+    }
+
+    public static<T,E extends Exception> void forEachRateLimitedE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, RateLimiter limiter) {
+        StreamExtPipeline.run("forEachRateLimitedE", stream, () -> stream.forEach(rethrow(rateLimited(consumer, limiter))));
+    }
+
+    public static<T,E extends Exception> void forEachRateLimitedE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, RateLimiter limiter, BiConsumer<T,Exception> fallbackFunction) {
+        StreamExtPipeline.run("forEachRateLimitedE", stream, () -> stream.forEach(fallback(rateLimited(consumer, limiter), fallbackFunction)));
     }
 
     public static<T,E extends Exception> void forEachOrderedE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer) {
-        stream.forEachOrdered(rethrow(consumer));
+        StreamExtPipeline.run("forEachOrderedE", stream, () -> stream.forEachOrdered(rethrow(consumer)));
     }
 
     public static<T,E extends Exception> void forEachOrderedE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, BiConsumer<T,Exception> fallbackFunction) {
-        stream.forEachOrdered(fallback(consumer, fallbackFunction));
+        StreamExtPipeline.run("forEachOrderedE", stream, () -> stream.forEachOrdered(fallback(consumer, fallbackFunction)));
     }
 
     public static<T,E extends Exception> void forEachOrderedQuiet(Stream<T> stream, ThrowableConsumerExt<T,E> consumer) {
-        stream.forEachOrdered(quiet(consumer));
+        StreamExtPipeline.run("forEachOrderedQuiet", stream, () -> stream.forEachOrdered(quiet(consumer)));
     }
 
     public static <T> List<T> list(Stream<T> stream) {
-        return stream.collect(Collectors.toList());
+        return StreamExtPipeline.call("list", stream, () -> stream.collect(Collectors.toList()));
+    }
+
+    // ////////////////////////
+    // Lines
+    // ////////////////////////
+
+    /**
+     * Returns a stream of the lines of the file parsed by the parser, reading the file
+     * by mapping it into memory, so it splits well in parallel.
+     * The parser is given a view of the mapped bytes for a line of single-byte characters.
+     * {@link FunctionExecutionException} is thrown when failed to open the file,
+     * or when the parser throws an exception. Close the stream to close the file.
+     *
+     * <pre>{@code
+     *   try (Stream<LogEntry> entries = linesE(path, UTF_8, LogEntry::parse)) {
+     *       entries.parallel().forEach(this::index);
+     *   }
+     * }</pre>
+     *
+     * @param path the path of the file
+     * @param charset the charset of the file
+     * @param parser the function that may throw an checked exception, parsing a line
+     * @param <R> the type of the new stream elements
+     * @param <E> the type of the throwable which the parser throws
+     * @return the new stream
+     * @see StreamExt#mappedLines(Path, Charset)
+     */
+    public static <R,E extends Exception> Stream<R> linesE(Path path, Charset charset, ThrowableFunctionExt<CharSequence,R,E> parser) {
+        return openLines(path, charset).map(rethrow(parser));
+    }
+
+    public static <R,E extends Exception> Stream<R> linesE(Path path, Charset charset, ThrowableFunctionExt<CharSequence,R,E> parser, BiFunction<CharSequence, Exception, R> fallbackFunction) {
+        return openLines(path, charset).map(fallback(parser, fallbackFunction));
+    }
+
+    public static <R,E extends Exception> Stream<R> linesQuiet(Path path, Charset charset, ThrowableFunctionExt<CharSequence,R,E> parser) {
+        return openLines(path, charset).map(quiet(parser));
+    }
+
+    private static Stream<CharSequence> openLines(Path path, Charset charset) {
+        try {
+            return mappedLines(path, charset);
+        } catch (IOException e) {
+            throw getDefaultRethrowMode().wrap(e);
+        }
+    }
+
+    // ////////////////////////
+    // Reactive streams
+    // ////////////////////////
+
+    /**
+     * Returns a {@link Flow.Publisher} of the elements of this stream, pulled only as the subscriber requests them,
+     * on the executor. A {@link FunctionExecutionException} thrown by the operations of the stream, such as
+     * {@code mapE}, is signalled by {@code onError} with the exception thrown by the function.
+     *
+     * @param stream this stream, subscribed once
+     * @param executor the executor to emit the elements on
+     * @param <T> the type of the stream elements
+     * @return the publisher
+     * @see StreamExt#toPublisher(Stream, Executor)
+     */
+    public static <T> Flow.Publisher<T> toPublisher(Stream<T> stream, Executor executor) {
+        return StreamExt.toPublisher(stream, executor);
+    }
+
+    /**
+     * Returns a {@link Flow.Publisher} of the results of the asynchronous mapper in encounter order,
+     * keeping at most {@code maxInFlight} calls in flight, and starting them only as the subscriber requests the results.
+     * The elements are pulled and the results are emitted on {@link ForkJoinPool#commonPool()}.
+     * The subscription is terminated by {@code onError} with the exception when a call fails.
+     *
+     * @param stream this stream, subscribed once
+     * @param mapper the function that may throw an checked exception, starting the asynchronous call
+     * @param maxInFlight the maximum number of the calls in flight
+     * @param <T> the type of the stream elements
+     * @param <R> the type of the results
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the publisher
+     * @see StreamExt#mapAsync(Stream, ThrowableFunctionExt, int, BiFunction, Executor)
+     */
+    public static <T,R,E extends Exception> Flow.Publisher<R> mapAsyncE(Stream<T> stream, ThrowableFunctionExt<T, ? extends CompletionStage<R>, E> mapper, int maxInFlight) {
+        return mapAsync(stream, mapper, maxInFlight, null, ForkJoinPool.commonPool());
+    }
+
+    public static <T,R,E extends Exception> Flow.Publisher<R> mapAsyncE(Stream<T> stream, ThrowableFunctionExt<T, ? extends CompletionStage<R>, E> mapper, int maxInFlight, BiFunction<T, Exception, R> fallbackFunction) {
+        return mapAsync(stream, mapper, maxInFlight, Objects.requireNonNull(fallbackFunction), ForkJoinPool.commonPool());
+    }
+
+    public static <T,R,E extends Exception> Flow.Publisher<R> mapAsyncE(Stream<T> stream, ThrowableFunctionExt<T, ? extends CompletionStage<R>, E> mapper, int maxInFlight, Executor executor) {
+        return mapAsync(stream, mapper, maxInFlight, null, executor);
+    }
+
+    // ////////////////////////
+    // Result collectors
+    // ////////////////////////
+
+    /**
+     * Returns a {@link Collector} which splits the {@link Result}s into the values of
+     * the successes and the failures in a single pass, both in encounter order.
+     *
+     * @param <T> the type of the source elements
+     * @param <R> the type of the values
+     * @return the collector
+     */
+    public static <T,R> Collector<Result<T,R>, ?, Result.Partition<T,R>> partitionResults() {
+        return Collector.<Result<T,R>, Result.Partition<T,R>>of(
+                () -> new Result.Partition<>(new ArrayList<>(), new ArrayList<>()),
+                StreamExtOps::accumulate,
+                (left, right) -> {
+                    left.successes().addAll(right.successes());
+                    left.failures().addAll(right.failures());
+                    return left;
+                });
+    }
+
+    /**
+     * Returns a concurrent {@link Collector} which splits the {@link Result}s into the values of
+     * the successes and the failures in a single pass. The workers of a parallel stream
+     * add to the same lock-free containers, without merging per split, and the order is not kept.
+     *
+     * @param <T> the type of the source elements
+     * @param <R> the type of the values
+     * @return the collector
+     */
+    public static <T,R> Collector<Result<T,R>, ?, Result.Partition<T,R>> partitionResultsConcurrent() {
+        return Collector.<Result<T,R>, ConcurrentPartition<T,R>, Result.Partition<T,R>>of(
+                ConcurrentPartition::new,
+                ConcurrentPartition::add,
+                (left, right) -> {
+                    left.successes.addAll(right.successes);
+                    left.failures.addAll(right.failures);
+                    return left;
+                },
+                ConcurrentPartition::toPartition,
+                Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns a {@link Collector} which collects the values of the {@link Result}s into a list in encounter order,
+     * or throws {@link ResultFailuresException} carrying all the failures if any, after the whole stream is traversed.
+     *
+     * @param <T> the type of the source elements
+     * @param <R> the type of the values
+     * @return the collector
+     */
+    public static <T,R> Collector<Result<T,R>, ?, List<R>> toListOrFailures() {
+        return Collectors.collectingAndThen(partitionResults(), StreamExtOps::successesOrThrow);
+    }
+
+    /**
+     * Returns a concurrent {@link Collector} which collects the values of the {@link Result}s into a list,
+     * or throws {@link ResultFailuresException} carrying all the failures if any.
+     * The order is not kept.
+     *
+     * @param <T> the type of the source elements
+     * @param <R> the type of the values
+     * @return the collector
+     * @see #partitionResultsConcurrent()
+     */
+    public static <T,R> Collector<Result<T,R>, ?, List<R>> toListOrFailuresConcurrent() {
+        return Collectors.collectingAndThen(partitionResultsConcurrent(), StreamExtOps::successesOrThrow);
+    }
+
+    private static <T,R> void accumulate(Result.Partition<T,R> partition, Result<T,R> result) {
+        if (result instanceof Result.Failure<T,R> failure) {
+            partition.failures().add(failure);
+        } else {
+            partition.successes().add(result.get());
+        }
+    }
+
+    private static <T,R> List<R> successesOrThrow(Result.Partition<T,R> partition) {
+        if (!partition.failures().isEmpty()) {
+            throw new ResultFailuresException(partition.failures());
+        }
+        return partition.successes();
+    }
+
+    /**
+     * the container of {@link #partitionResultsConcurrent()} shared by the workers
+     */
+    private static final class ConcurrentPartition<T,R> {
+        /** the queue does not accept null */
+        private static final Object NULL = new Object();
+
+        final ConcurrentLinkedQueue<Object> successes = new ConcurrentLinkedQueue<>();
+        final ConcurrentLinkedQueue<Result.Failure<T,R>> failures = new ConcurrentLinkedQueue<>();
+
+        void add(Result<T,R> result) {
+            if (result instanceof Result.Failure<T,R> failure) {
+                failures.add(failure);
+            } else {
+                R value = result.get();
+                successes.add(value == null ? NULL : value);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        Result.Partition<T,R> toPartition() {
+            var values = new ArrayList<R>(successes.size());
+            for (Object value : successes) {
+                values.add(value == NULL ? null : (R) value);
+            }
+            return new Result.Partition<>(values, new ArrayList<>(failures));
+        }
+    }
+
+    // ////////////////////////
+    // Throwing collectors
+    // ////////////////////////
+
+    /**
+     * Returns a {@link Collector} which collects the elements into a map, whose keys and values are
+     * the results of the mappers, as {@link Collectors#toMap(Function, Function)}.
+     * {@link FunctionExecutionException} is thrown when a mapper throws an exception.
+     *
+     * @param keyMapper the function that may throw an checked exception, mapping an element to the key
+     * @param valueMapper the function that may throw an checked exception, mapping an element to the value
+     * @param <T> the type of the stream elements
+     * @param <K> the type of the keys
+     * @param <U> the type of the values
+     * @param <E> the type of the throwable which the mappers throw
+     * @return the collector
+     * @throws IllegalStateException when two elements are mapped to the same key
+     */
+    public static <T,K,U,E extends Exception> Collector<T, ?, Map<K,U>> toMapE(ThrowableFunctionExt<T,K,E> keyMapper, ThrowableFunctionExt<T,U,E> valueMapper) {
+        return toMap(rethrow(keyMapper), rethrow(valueMapper));
+    }
+
+    /**
+     * Returns a {@link Collector} which collects the elements into a map, whose keys and values are
+     * the results of the mappers. When a mapper throws an exception, the element is skipped,
+     * and {@code fallbackFunction}, such as a {@link DeadLetterSink}, is called with it.
+     *
+     * @param keyMapper the function that may throw an checked exception, mapping an element to the key
+     * @param valueMapper the function that may throw an checked exception, mapping an element to the value
+     * @param fallbackFunction the consumer of the skipped element and the exception
+     * @param <T> the type of the stream elements
+     * @param <K> the type of the keys
+     * @param <U> the type of the values
+     * @param <E> the type of the throwable which the mappers throw
+     * @return the collector
+     */
+    public static <T,K,U,E extends Exception> Collector<T, ?, Map<K,U>> toMapE(ThrowableFunctionExt<T,K,E> keyMapper, ThrowableFunctionExt<T,U,E> valueMapper, BiConsumer<T,Exception> fallbackFunction) {
+        return toMap(orSkipped(keyMapper, fallbackFunction), orSkipped(valueMapper, fallbackFunction));
+    }
+
+    public static <T,K,U,E extends Exception> Collector<T, ?, Map<K,U>> toMapQuiet(ThrowableFunctionExt<T,K,E> keyMapper, ThrowableFunctionExt<T,U,E> valueMapper) {
+        return toMap(orSkipped(keyMapper, (t, e) -> {}), orSkipped(valueMapper, (t, e) -> {}));
+    }
+
+    /**
+     * Returns a {@link Collector} which groups the elements into lists by the keys of the classifier,
+     * as {@link Collectors#groupingBy(Function)}.
+     * {@link FunctionExecutionException} is thrown when the classifier throws an exception.
+     *
+     * @param classifier the function that may throw an checked exception, mapping an element to the key
+     * @param <T> the type of the stream elements
+     * @param <K> the type of the keys
+     * @param <E> the type of the throwable which the classifier throws
+     * @return the collector
+     */
+    public static <T,K,E extends Exception> Collector<T, ?, Map<K,List<T>>> groupingByE(ThrowableFunctionExt<T,K,E> classifier) {
+        return grouping(rethrow(classifier), Collectors.toList());
+    }
+
+    public static <T,K,A,D,E extends Exception> Collector<T, ?, Map<K,D>> groupingByE(ThrowableFunctionExt<T,K,E> classifier, Collector<? super T,A,D> downstream) {
+        return grouping(rethrow(classifier), downstream);
+    }
+
+    /**
+     * Returns a {@link Collector} which groups the elements into lists by the keys of the classifier.
+     * When the classifier throws an exception, the element is skipped,
+     * and {@code fallbackFunction}, such as a {@link DeadLetterSink}, is called with it.
+     *
+     * @param classifier the function that may throw an checked exception, mapping an element to the key
+     * @param fallbackFunction the consumer of the skipped element and the exception
+     * @param <T> the type of the stream elements
+     * @param <K> the type of the keys
+     * @param <E> the type of the throwable which the classifier throws
+     * @return the collector
+     */
+    public static <T,K,E extends Exception> Collector<T, ?, Map<K,List<T>>> groupingByE(ThrowableFunctionExt<T,K,E> classifier, BiConsumer<T,Exception> fallbackFunction) {
+        return grouping(orSkipped(classifier, fallbackFunction), Collectors.toList());
+    }
+
+    public static <T,K,A,D,E extends Exception> Collector<T, ?, Map<K,D>> groupingByE(ThrowableFunctionExt<T,K,E> classifier, Collector<? super T,A,D> downstream, BiConsumer<T,Exception> fallbackFunction) {
+        return grouping(orSkipped(classifier, fallbackFunction), downstream);
+    }
+
+    public static <T,K,E extends Exception> Collector<T, ?, Map<K,List<T>>> groupingByQuiet(ThrowableFunctionExt<T,K,E> classifier) {
+        return grouping(orSkipped(classifier, (t, e) -> {}), Collectors.toList());
+    }
+
+    public static <T,K,A,D,E extends Exception> Collector<T, ?, Map<K,D>> groupingByQuiet(ThrowableFunctionExt<T,K,E> classifier, Collector<? super T,A,D> downstream) {
+        return grouping(orSkipped(classifier, (t, e) -> {}), downstream);
+    }
+
+    /**
+     * Returns a concurrent {@link Collector} which groups the elements into lists by the keys of the classifier.
+     * The workers of a parallel stream accumulate into the same {@link ConcurrentHashMap} by
+     * {@link ConcurrentHashMap#compute(Object, BiFunction)}, which locks only the bin of the key,
+     * so the maps of the splits are not merged, and the downstream container needs not be thread-safe.
+     * The order is not kept.
+     * {@link FunctionExecutionException} is thrown when the classifier throws an exception.
+     *
+     * @param classifier the function that may throw an checked exception, mapping an element to the key
+     * @param <T> the type of the stream elements
+     * @param <K> the type of the keys
+     * @param <E> the type of the throwable which the classifier throws
+     * @return the collector
+     */
+    public static <T,K,E extends Exception> Collector<T, ?, ConcurrentMap<K,List<T>>> groupingByConcurrentE(ThrowableFunctionExt<T,K,E> classifier) {
+        return groupingConcurrent(rethrow(classifier), Collectors.toList());
+    }
+
+    public static <T,K,A,D,E extends Exception> Collector<T, ?, ConcurrentMap<K,D>> groupingByConcurrentE(ThrowableFunctionExt<T,K,E> classifier, Collector<? super T,A,D> downstream) {
+        return groupingConcurrent(rethrow(classifier), downstream);
+    }
+
+    public static <T,K,E extends Exception> Collector<T, ?, ConcurrentMap<K,List<T>>> groupingByConcurrentE(ThrowableFunctionExt<T,K,E> classifier, BiConsumer<T,Exception> fallbackFunction) {
+        return groupingConcurrent(orSkipped(classifier, fallbackFunction), Collectors.toList());
+    }
+
+    public static <T,K,A,D,E extends Exception> Collector<T, ?, ConcurrentMap<K,D>> groupingByConcurrentE(ThrowableFunctionExt<T,K,E> classifier, Collector<? super T,A,D> downstream, BiConsumer<T,Exception> fallbackFunction) {
+        return groupingConcurrent(orSkipped(classifier, fallbackFunction), downstream);
+    }
+
+    public static <T,K,E extends Exception> Collector<T, ?, ConcurrentMap<K,List<T>>> groupingByConcurrentQuiet(ThrowableFunctionExt<T,K,E> classifier) {
+        return groupingConcurrent(orSkipped(classifier, (t, e) -> {}), Collectors.toList());
+    }
+
+    public static <T,K,A,D,E extends Exception> Collector<T, ?, ConcurrentMap<K,D>> groupingByConcurrentQuiet(ThrowableFunctionExt<T,K,E> classifier, Collector<? super T,A,D> downstream) {
+        return groupingConcurrent(orSkipped(classifier, (t, e) -> {}), downstream);
+    }
+
+    /**
+     * Returns a {@link Collector} which reduces the results of the mapper by the operator,
+     * as {@link Collectors#reducing(Object, Function, BinaryOperator)}.
+     * {@link FunctionExecutionException} is thrown when the mapper throws an exception.
+     *
+     * @param identity the identity value of the reduction
+     * @param mapper the function that may throw an checked exception, mapping an element to the value
+     * @param op the operator to reduce the values
+     * @param <T> the type of the stream elements
+     * @param <U> the type of the values
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the collector
+     */
+    public static <T,U,E extends Exception> Collector<T, ?, U> reducingE(U identity, ThrowableFunctionExt<T,U,E> mapper, BinaryOperator<U> op) {
+        return Collectors.reducing(identity, rethrow(mapper), op);
+    }
+
+    /**
+     * Returns a {@link Collector} which reduces the results of the mapper by the operator.
+     * When the mapper throws an exception, the element is reduced as the identity value,
+     * and {@code fallbackFunction}, such as a {@link DeadLetterSink}, is called with it.
+     *
+     * @param identity the identity value of the reduction
+     * @param mapper the function that may throw an checked exception, mapping an element to the value
+     * @param op the operator to reduce the values
+     * @param fallbackFunction the consumer of the skipped element and the exception
+     * @param <T> the type of the stream elements
+     * @param <U> the type of the values
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the collector
+     */
+    public static <T,U,E extends Exception> Collector<T, ?, U> reducingE(U identity, ThrowableFunctionExt<T,U,E> mapper, BinaryOperator<U> op, BiConsumer<T,Exception> fallbackFunction) {
+        Objects.requireNonNull(fallbackFunction);
+        return Collectors.reducing(identity, fallback(mapper, (t, e) -> {
+            fallbackFunction.accept(t, e);
+            return identity;
+        }), op);
+    }
+
+    public static <T,U,E extends Exception> Collector<T, ?, U> reducingQuiet(U identity, ThrowableFunctionExt<T,U,E> mapper, BinaryOperator<U> op) {
+        return Collectors.reducing(identity, fallback(mapper, (t, e) -> identity), op);
+    }
+
+    /** the result of a mapper for a skipped element, never put into a map */
+    private static final Object SKIPPED = new Object();
+
+    @SuppressWarnings("unchecked")
+    private static <T,R,E extends Exception> Function<T,R> orSkipped(ThrowableFunctionExt<T,R,E> mapper, BiConsumer<T,Exception> fallbackFunction) {
+        Objects.requireNonNull(fallbackFunction);
+        return fallback(mapper, (t, e) -> {
+            fallbackFunction.accept(t, e);
+            return (R) SKIPPED;
+        });
+    }
+
+    private static <T,K,U> Collector<T, ?, Map<K,U>> toMap(Function<T,K> keyMapper, Function<T,U> valueMapper) {
+        return Collector.<T, Map<K,U>>of(
+                HashMap::new,
+                (map, t) -> {
+                    K key = keyMapper.apply(t);
+                    if (key == SKIPPED) {
+                        return;
+                    }
+                    U value = valueMapper.apply(t);
+                    if (value == SKIPPED) {
+                        return;
+                    }
+                    putUnique(map, key, value);
+                },
+                (left, right) -> {
+                    right.forEach((key, value) -> putUnique(left, key, value));
+                    return left;
+                });
+    }
+
+    private static <K,U> void putUnique(Map<K,U> map, K key, U value) {
+        U previous = map.putIfAbsent(key, Objects.requireNonNull(value));
+        if (previous != null) {
+            throw new IllegalStateException("Duplicate key " + key + " (attempted merging values " + previous + " and " + value + ")");
+        }
+    }
+
+    private static <T,K,A,D> Collector<T, ?, Map<K,D>> grouping(Function<T,K> classifier, Collector<? super T,A,D> downstream) {
+        Supplier<A> supplier = downstream.supplier();
+        BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        BinaryOperator<A> combiner = downstream.combiner();
+        return Collector.<T, Map<K,A>, Map<K,D>>of(
+                HashMap::new,
+                (map, t) -> {
+                    K key = classifier.apply(t);
+                    if (key == SKIPPED) {
+                        return;
+                    }
+                    A container = map.computeIfAbsent(Objects.requireNonNull(key, "element cannot be mapped to a null key"), k -> supplier.get());
+                    accumulator.accept(container, t);
+                },
+                (left, right) -> {
+                    right.forEach((key, container) -> left.merge(key, container, combiner));
+                    return left;
+                },
+                map -> finishGroups(map, downstream));
+    }
+
+    private static <T,K,A,D> Collector<T, ?, ConcurrentMap<K,D>> groupingConcurrent(Function<T,K> classifier, Collector<? super T,A,D> downstream) {
+        Supplier<A> supplier = downstream.supplier();
+        BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        BinaryOperator<A> combiner = downstream.combiner();
+        return Collector.<T, ConcurrentMap<K,A>, ConcurrentMap<K,D>>of(
+                ConcurrentHashMap::new,
+                (map, t) -> {
+                    K key = classifier.apply(t);
+                    if (key == SKIPPED) {
+                        return;
+                    }
+                    // accumulated under the lock of the bin, as the container may not be thread-safe
+                    map.compute(Objects.requireNonNull(key, "element cannot be mapped to a null key"), (k, container) -> {
+                        A accumulated = container == null ? supplier.get() : container;
+                        accumulator.accept(accumulated, t);
+                        return accumulated;
+                    });
+                },
+                (left, right) -> {
+                    right.forEach((key, container) -> left.merge(key, container, combiner));
+                    return left;
+                },
+                map -> finishGroups(map, downstream),
+                Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * replaces the containers of the groups by the results of the downstream finisher, in the same map
+     */
+    @SuppressWarnings("unchecked")
+    private static <K,A,D,M extends Map<K,D>> M finishGroups(Map<K,A> map, Collector<?,A,D> downstream) {
+        if (!downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            Function<A,D> finisher = downstream.finisher();
+            ((Map<K,Object>) map).replaceAll((key, container) -> finisher.apply((A) container));
+        }
+        return (M) map;
+    }
+
+    // ////////////////////////
+    // ForkJoinPool
+    // ////////////////////////
+
+    /**
+     * Performs an action for each element of this stream in parallel on the given pool,
+     * instead of the common pool shared by the JVM.
+     * {@link FunctionExecutionException} is thrown when the action throws an exception.
+     * Wrap a blocking action with {@link StreamExt#blocking(ThrowableConsumerExt)},
+     * so the pool activates a spare worker while it blocks.
+     *
+     * @param stream this stream
+     * @param consumer action to perform on the elements
+     * @param pool the pool to run on
+     * @param <T> the type of the stream elements
+     * @param <E> the type of the throwable which the action throws
+     * @see StreamExt#runIn(ForkJoinPool, Runnable)
+     */
+    public static<T,E extends Exception> void forEachE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, ForkJoinPool pool) {
+        StreamExtPipeline.run("forEachE", stream.parallel(), () -> runIn(pool, () -> stream.forEach(rethrow(consumer))));
+    }
+
+    public static<T,E extends Exception> void forEachE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, BiConsumer<T,Exception> fallbackFunction, ForkJoinPool pool) {
+        StreamExtPipeline.run("forEachE", stream.parallel(), () -> runIn(pool, () -> stream.forEach(fallback(consumer, fallbackFunction))));
+    }
+
+    public static<T,E extends Exception> void forEachQuiet(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, ForkJoinPool pool) {
+        StreamExtPipeline.run("forEachQuiet", stream.parallel(), () -> runIn(pool, () -> stream.forEach(quiet(consumer))));
+    }
+
+    /**
+     * Performs an action for each element of this stream in parallel on a new pool
+     * of the given parallelism, which is shut down after the operation.
+     * {@link FunctionExecutionException} is thrown when the action throws an exception.
+     *
+     * @param stream this stream
+     * @param consumer action to perform on the elements
+     * @param parallelism the parallelism of the pool
+     * @param <T> the type of the stream elements
+     * @param <E> the type of the throwable which the action throws
+     * @see StreamExt#runIn(int, Runnable)
+     */
+    public static<T,E extends Exception> void forEachE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, int parallelism) {
+        StreamExtPipeline.run("forEachE", stream.parallel(), () -> runIn(parallelism, () -> stream.forEach(rethrow(consumer))));
+    }
+
+    public static<T,E extends Exception> void forEachE(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, BiConsumer<T,Exception> fallbackFunction, int parallelism) {
+        StreamExtPipeline.run("forEachE", stream.parallel(), () -> runIn(parallelism, () -> stream.forEach(fallback(consumer, fallbackFunction))));
+    }
+
+    public static<T,E extends Exception> void forEachQuiet(Stream<T> stream, ThrowableConsumerExt<T,E> consumer, int parallelism) {
+        StreamExtPipeline.run("forEachQuiet", stream.parallel(), () -> runIn(parallelism, () -> stream.forEach(quiet(consumer))));
+    }
+
+    /**
+     * Returns whether all elements of this stream match the provided predicate,
+     * evaluated in parallel on the given pool.
+     * {@link FunctionExecutionException} is thrown when the predicate throws an exception.
+     *
+     * @param stream this stream
+     * @param predicate predicate to apply to elements of this stream
+     * @param pool the pool to run on
+     * @param <T> the type of the stream elements
+     * @param <E> the type of the throwable which the predicate throws
+     * @return {@code true} if either all elements of the stream match the
+     * provided predicate or the stream is empty, otherwise {@code false}
+     * @see StreamExt#callIn(ForkJoinPool, Supplier)
+     */
+    public static <T,E extends Exception> boolean allMatchE(Stream<T> stream, ThrowablePredicateExt<T,E> predicate, ForkJoinPool pool) {
+        return StreamExtPipeline.test("allMatchE", stream.parallel(), () -> callIn(pool, () -> stream.allMatch(rethrow(predicate))));
+    }
+
+    public static <T,E extends Exception> boolean allMatchE(Stream<T> stream, ThrowablePredicateExt<T,E> predicate, int parallelism) {
+        return StreamExtPipeline.test("allMatchE", stream.parallel(), () -> callIn(parallelism, () -> stream.allMatch(rethrow(predicate))));
+    }
+
+    public static <T,E extends Exception> boolean anyMatchE(Stream<T> stream, ThrowablePredicateExt<T,E> predicate, ForkJoinPool pool) {
+        return StreamExtPipeline.test("anyMatchE", stream.parallel(), () -> callIn(pool, () -> stream.anyMatch(rethrow(predicate))));
+    }
+
+    public static <T,E extends Exception> boolean anyMatchE(Stream<T> stream, ThrowablePredicateExt<T,E> predicate, int parallelism) {
+        return StreamExtPipeline.test("anyMatchE", stream.parallel(), () -> callIn(parallelism, () -> stream.anyMatch(rethrow(predicate))));
+    }
+
+    public static <T,E extends Exception> boolean nonMatchE(Stream<T> stream, ThrowablePredicateExt<T,E> predicate, ForkJoinPool pool) {
+        return StreamExtPipeline.test("nonMatchE", stream.parallel(), () -> callIn(pool, () -> stream.noneMatch(rethrow(predicate))));
+    }
+
+    public static <T,E extends Exception> boolean nonMatchE(Stream<T> stream, ThrowablePredicateExt<T,E> predicate, int parallelism) {
+        return StreamExtPipeline.test("nonMatchE", stream.parallel(), () -> callIn(parallelism, () -> stream.noneMatch(rethrow(predicate))));
+    }
+
+    /**
+     * Collects the elements of this stream into a list, evaluating the stream
+     * in parallel on the given pool.
+     *
+     * @param stream this stream
+     * @param pool the pool to run on
+     * @param <T> the type of the stream elements
+     * @return the list of the elements in encounter order
+     * @see StreamExt#callIn(ForkJoinPool, Supplier)
+     */
+    public static <T> List<T> list(Stream<T> stream, ForkJoinPool pool) {
+        return StreamExtPipeline.call("list", stream.parallel(), () -> callIn(pool, () -> stream.collect(Collectors.toList())));
+    }
+
+    public static <T> List<T> list(Stream<T> stream, int parallelism) {
+        return StreamExtPipeline.call("list", stream.parallel(), () -> callIn(parallelism, () -> stream.collect(Collectors.toList())));
+    }
+
+    // ////////////////////////////////////////////////////////////////////////
+    // Primitive stream extensions
+    // ////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns an {@code IntStream} consisting of the results of applying the
+     * given function to the elements of this stream, without boxing.
+     * {@link FunctionExecutionException} is thrown when the mapper throws an exception.
+     *
+     * @param stream this stream
+     * @param mapper function to apply to each element
+     * @param <T> the type of the stream elements
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     */
+    public static <T,E extends Exception> IntStream mapToIntE(Stream<T> stream, ThrowableToIntFunctionExt<T,E> mapper) {
+        return stream.mapToInt(rethrowToInt(mapper));
+    }
+
+    public static <T,E extends Exception> IntStream mapToIntE(Stream<T> stream, ThrowableToIntFunctionExt<T,E> mapper, ToIntBiFunction<T, Exception> fallbackFunction) {
+        return stream.mapToInt(fallbackToInt(mapper, fallbackFunction));
+    }
+
+    public static <T,E extends Exception> IntStream mapToIntQuiet(Stream<T> stream, ThrowableToIntFunctionExt<T,E> mapper) {
+        return stream.mapToInt(quietToInt(mapper));
+    }
+
+    /**
+     * Returns an {@code LongStream} consisting of the results of applying the
+     * given function to the elements of this stream, without boxing.
+     * {@link FunctionExecutionException} is thrown when the mapper throws an exception.
+     *
+     * @param stream this stream
+     * @param mapper function to apply to each element
+     * @param <T> the type of the stream elements
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     */
+    public static <T,E extends Exception> LongStream mapToLongE(Stream<T> stream, ThrowableToLongFunctionExt<T,E> mapper) {
+        return stream.mapToLong(rethrowToLong(mapper));
+    }
+
+    public static <T,E extends Exception> LongStream mapToLongE(Stream<T> stream, ThrowableToLongFunctionExt<T,E> mapper, ToLongBiFunction<T, Exception> fallbackFunction) {
+        return stream.mapToLong(fallbackToLong(mapper, fallbackFunction));
+    }
+
+    public static <T,E extends Exception> LongStream mapToLongQuiet(Stream<T> stream, ThrowableToLongFunctionExt<T,E> mapper) {
+        return stream.mapToLong(quietToLong(mapper));
+    }
+
+    /**
+     * Returns an {@code DoubleStream} consisting of the results of applying the
+     * given function to the elements of this stream, without boxing.
+     * {@link FunctionExecutionException} is thrown when the mapper throws an exception.
+     *
+     * @param stream this stream
+     * @param mapper function to apply to each element
+     * @param <T> the type of the stream elements
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     */
+    public static <T,E extends Exception> DoubleStream mapToDoubleE(Stream<T> stream, ThrowableToDoubleFunctionExt<T,E> mapper) {
+        return stream.mapToDouble(rethrowToDouble(mapper));
+    }
+
+    public static <T,E extends Exception> DoubleStream mapToDoubleE(Stream<T> stream, ThrowableToDoubleFunctionExt<T,E> mapper, ToDoubleBiFunction<T, Exception> fallbackFunction) {
+        return stream.mapToDouble(fallbackToDouble(mapper, fallbackFunction));
+    }
+
+    public static <T,E extends Exception> DoubleStream mapToDoubleQuiet(Stream<T> stream, ThrowableToDoubleFunctionExt<T,E> mapper) {
+        return stream.mapToDouble(quietToDouble(mapper));
+    }
+
+    // ////////////////////////
+    // IntStream extensions
+    // ////////////////////////
+
+    /**
+     * Returns a stream consisting of the values of this stream that match
+     * the given predicate, without boxing.
+     * {@link FunctionExecutionException} is thrown when the predicate throws an exception.
+     *
+     * @param stream this stream
+     * @param predicate predicate to apply to each value to determine if it
+     *                  should be included
+     * @param <E> the type of the throwable which the predicate throws
+     * @return the new stream
+     */
+    public static <E extends Exception> IntStream filterE(IntStream stream, ThrowableIntPredicateExt<E> predicate) {
+        return stream.filter(rethrowIntPredicate(predicate));
+    }
+
+    public static <E extends Exception> IntStream filterE(IntStream stream, ThrowableIntPredicateExt<E> predicate, BiPredicate<Integer,Exception> fallbackFunction) {
+        return stream.filter(fallbackIntPredicate(predicate, fallbackFunction));
+    }
+
+    public static <E extends Exception> IntStream filterQuiet(IntStream stream, ThrowableIntPredicateExt<E> predicate) {
+        return stream.filter(quietIntPredicate(predicate));
+    }
+
+    public static <E extends Exception> boolean allMatchE(IntStream stream, ThrowableIntPredicateExt<E> predicate) {
+        return StreamExtPipeline.test("allMatchE", stream, () -> stream.allMatch(rethrowIntPredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean allMatchE(IntStream stream, ThrowableIntPredicateExt<E> predicate, BiPredicate<Integer,Exception> fallbackFunction) {
+        return StreamExtPipeline.test("allMatchE", stream, () -> stream.allMatch(fallbackIntPredicate(predicate, fallbackFunction)));
+    }
+
+    public static <E extends Exception> boolean allMatchQuiet(IntStream stream, ThrowableIntPredicateExt<E> predicate) {
+        return StreamExtPipeline.test("allMatchQuiet", stream, () -> stream.allMatch(quietIntPredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean anyMatchE(IntStream stream, ThrowableIntPredicateExt<E> predicate) {
+        return StreamExtPipeline.test("anyMatchE", stream, () -> stream.anyMatch(rethrowIntPredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean anyMatchE(IntStream stream, ThrowableIntPredicateExt<E> predicate, BiPredicate<Integer,Exception> fallbackFunction) {
+        return StreamExtPipeline.test("anyMatchE", stream, () -> stream.anyMatch(fallbackIntPredicate(predicate, fallbackFunction)));
+    }
+
+    public static <E extends Exception> boolean anyMatchQuiet(IntStream stream, ThrowableIntPredicateExt<E> predicate) {
+        return StreamExtPipeline.test("anyMatchQuiet", stream, () -> stream.anyMatch(quietIntPredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean nonMatchE(IntStream stream, ThrowableIntPredicateExt<E> predicate) {
+        return StreamExtPipeline.test("nonMatchE", stream, () -> stream.noneMatch(rethrowIntPredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean nonMatchE(IntStream stream, ThrowableIntPredicateExt<E> predicate, BiPredicate<Integer,Exception> fallbackFunction) {
+        return StreamExtPipeline.test("nonMatchE", stream, () -> stream.noneMatch(fallbackIntPredicate(predicate, fallbackFunction)));
+    }
+
+    public static <E extends Exception> boolean nonMatchQuiet(IntStream stream, ThrowableIntPredicateExt<E> predicate) {
+        return StreamExtPipeline.test("nonMatchQuiet", stream, () -> stream.noneMatch(quietIntPredicate(predicate)));
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * operator to the values of this stream, without boxing.
+     * {@link FunctionExecutionException} is thrown when the mapper throws an exception.
+     *
+     * @param stream this stream
+     * @param mapper operator to apply to each value
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     */
+    public static <E extends Exception> IntStream mapE(IntStream stream, ThrowableIntUnaryOperatorExt<E> mapper) {
+        return stream.map(rethrowIntUnaryOperator(mapper));
+    }
+
+    public static <E extends Exception> IntStream mapE(IntStream stream, ThrowableIntUnaryOperatorExt<E> mapper, ToIntBiFunction<Integer, Exception> fallbackFunction) {
+        return stream.map(fallbackIntUnaryOperator(mapper, fallbackFunction));
+    }
+
+    public static <E extends Exception> IntStream mapQuiet(IntStream stream, ThrowableIntUnaryOperatorExt<E> mapper) {
+        return stream.map(quietIntUnaryOperator(mapper));
+    }
+
+    public static <R,E extends Exception> Stream<R> mapToObjE(IntStream stream, ThrowableIntFunctionExt<R,E> mapper) {
+        return stream.mapToObj(rethrowInt(mapper));
+    }
+
+    public static <R,E extends Exception> Stream<R> mapToObjE(IntStream stream, ThrowableIntFunctionExt<R,E> mapper, BiFunction<Integer, Exception, R> fallbackFunction) {
+        return stream.mapToObj(fallbackInt(mapper, fallbackFunction));
+    }
+
+    public static <R,E extends Exception> Stream<R> mapToObjQuiet(IntStream stream, ThrowableIntFunctionExt<R,E> mapper) {
+        return stream.mapToObj(quietInt(mapper));
+    }
+
+    public static <E extends Exception> void forEachE(IntStream stream, ThrowableIntConsumerExt<E> consumer) {
+        StreamExtPipeline.run("forEachE", stream, () -> stream.forEach(rethrowIntConsumer(consumer)));
+    }
+
+    public static <E extends Exception> void forEachE(IntStream stream, ThrowableIntConsumerExt<E> consumer, BiConsumer<Integer,Exception> fallbackFunction) {
+        StreamExtPipeline.run("forEachE", stream, () -> stream.forEach(fallbackIntConsumer(consumer, fallbackFunction)));
+    }
+
+    public static <E extends Exception> void forEachQuiet(IntStream stream, ThrowableIntConsumerExt<E> consumer) {
+        StreamExtPipeline.run("forEachQuiet", stream, () -> stream.forEach(quietIntConsumer(consumer)));
+    }
+
+    public static <E extends Exception> void forEachOrderedE(IntStream stream, ThrowableIntConsumerExt<E> consumer) {
+        StreamExtPipeline.run("forEachOrderedE", stream, () -> stream.forEachOrdered(rethrowIntConsumer(consumer)));
+    }
+
+    public static <E extends Exception> void forEachOrderedE(IntStream stream, ThrowableIntConsumerExt<E> consumer, BiConsumer<Integer,Exception> fallbackFunction) {
+        StreamExtPipeline.run("forEachOrderedE", stream, () -> stream.forEachOrdered(fallbackIntConsumer(consumer, fallbackFunction)));
+    }
+
+    public static <E extends Exception> void forEachOrderedQuiet(IntStream stream, ThrowableIntConsumerExt<E> consumer) {
+        StreamExtPipeline.run("forEachOrderedQuiet", stream, () -> stream.forEachOrdered(quietIntConsumer(consumer)));
+    }
+
+    // ////////////////////////
+    // LongStream extensions
+    // ////////////////////////
+
+    /**
+     * Returns a stream consisting of the values of this stream that match
+     * the given predicate, without boxing.
+     * {@link FunctionExecutionException} is thrown when the predicate throws an exception.
+     *
+     * @param stream this stream
+     * @param predicate predicate to apply to each value to determine if it
+     *                  should be included
+     * @param <E> the type of the throwable which the predicate throws
+     * @return the new stream
+     */
+    public static <E extends Exception> LongStream filterE(LongStream stream, ThrowableLongPredicateExt<E> predicate) {
+        return stream.filter(rethrowLongPredicate(predicate));
+    }
+
+    public static <E extends Exception> LongStream filterE(LongStream stream, ThrowableLongPredicateExt<E> predicate, BiPredicate<Long,Exception> fallbackFunction) {
+        return stream.filter(fallbackLongPredicate(predicate, fallbackFunction));
+    }
+
+    public static <E extends Exception> LongStream filterQuiet(LongStream stream, ThrowableLongPredicateExt<E> predicate) {
+        return stream.filter(quietLongPredicate(predicate));
+    }
+
+    public static <E extends Exception> boolean allMatchE(LongStream stream, ThrowableLongPredicateExt<E> predicate) {
+        return StreamExtPipeline.test("allMatchE", stream, () -> stream.allMatch(rethrowLongPredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean allMatchE(LongStream stream, ThrowableLongPredicateExt<E> predicate, BiPredicate<Long,Exception> fallbackFunction) {
+        return StreamExtPipeline.test("allMatchE", stream, () -> stream.allMatch(fallbackLongPredicate(predicate, fallbackFunction)));
+    }
+
+    public static <E extends Exception> boolean allMatchQuiet(LongStream stream, ThrowableLongPredicateExt<E> predicate) {
+        return StreamExtPipeline.test("allMatchQuiet", stream, () -> stream.allMatch(quietLongPredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean anyMatchE(LongStream stream, ThrowableLongPredicateExt<E> predicate) {
+        return StreamExtPipeline.test("anyMatchE", stream, () -> stream.anyMatch(rethrowLongPredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean anyMatchE(LongStream stream, ThrowableLongPredicateExt<E> predicate, BiPredicate<Long,Exception> fallbackFunction) {
+        return StreamExtPipeline.test("anyMatchE", stream, () -> stream.anyMatch(fallbackLongPredicate(predicate, fallbackFunction)));
+    }
+
+    public static <E extends Exception> boolean anyMatchQuiet(LongStream stream, ThrowableLongPredicateExt<E> predicate) {
+        return StreamExtPipeline.test("anyMatchQuiet", stream, () -> stream.anyMatch(quietLongPredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean nonMatchE(LongStream stream, ThrowableLongPredicateExt<E> predicate) {
+        return StreamExtPipeline.test("nonMatchE", stream, () -> stream.noneMatch(rethrowLongPredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean nonMatchE(LongStream stream, ThrowableLongPredicateExt<E> predicate, BiPredicate<Long,Exception> fallbackFunction) {
+        return StreamExtPipeline.test("nonMatchE", stream, () -> stream.noneMatch(fallbackLongPredicate(predicate, fallbackFunction)));
+    }
+
+    public static <E extends Exception> boolean nonMatchQuiet(LongStream stream, ThrowableLongPredicateExt<E> predicate) {
+        return StreamExtPipeline.test("nonMatchQuiet", stream, () -> stream.noneMatch(quietLongPredicate(predicate)));
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * operator to the values of this stream, without boxing.
+     * {@link FunctionExecutionException} is thrown when the mapper throws an exception.
+     *
+     * @param stream this stream
+     * @param mapper operator to apply to each value
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     */
+    public static <E extends Exception> LongStream mapE(LongStream stream, ThrowableLongUnaryOperatorExt<E> mapper) {
+        return stream.map(rethrowLongUnaryOperator(mapper));
+    }
+
+    public static <E extends Exception> LongStream mapE(LongStream stream, ThrowableLongUnaryOperatorExt<E> mapper, ToLongBiFunction<Long, Exception> fallbackFunction) {
+        return stream.map(fallbackLongUnaryOperator(mapper, fallbackFunction));
+    }
+
+    public static <E extends Exception> LongStream mapQuiet(LongStream stream, ThrowableLongUnaryOperatorExt<E> mapper) {
+        return stream.map(quietLongUnaryOperator(mapper));
+    }
+
+    public static <R,E extends Exception> Stream<R> mapToObjE(LongStream stream, ThrowableLongFunctionExt<R,E> mapper) {
+        return stream.mapToObj(rethrowLong(mapper));
+    }
+
+    public static <R,E extends Exception> Stream<R> mapToObjE(LongStream stream, ThrowableLongFunctionExt<R,E> mapper, BiFunction<Long, Exception, R> fallbackFunction) {
+        return stream.mapToObj(fallbackLong(mapper, fallbackFunction));
+    }
+
+    public static <R,E extends Exception> Stream<R> mapToObjQuiet(LongStream stream, ThrowableLongFunctionExt<R,E> mapper) {
+        return stream.mapToObj(quietLong(mapper));
+    }
+
+    public static <E extends Exception> void forEachE(LongStream stream, ThrowableLongConsumerExt<E> consumer) {
+        StreamExtPipeline.run("forEachE", stream, () -> stream.forEach(rethrowLongConsumer(consumer)));
+    }
+
+    public static <E extends Exception> void forEachE(LongStream stream, ThrowableLongConsumerExt<E> consumer, BiConsumer<Long,Exception> fallbackFunction) {
+        StreamExtPipeline.run("forEachE", stream, () -> stream.forEach(fallbackLongConsumer(consumer, fallbackFunction)));
+    }
+
+    public static <E extends Exception> void forEachQuiet(LongStream stream, ThrowableLongConsumerExt<E> consumer) {
+        StreamExtPipeline.run("forEachQuiet", stream, () -> stream.forEach(quietLongConsumer(consumer)));
+    }
+
+    public static <E extends Exception> void forEachOrderedE(LongStream stream, ThrowableLongConsumerExt<E> consumer) {
+        StreamExtPipeline.run("forEachOrderedE", stream, () -> stream.forEachOrdered(rethrowLongConsumer(consumer)));
+    }
+
+    public static <E extends Exception> void forEachOrderedE(LongStream stream, ThrowableLongConsumerExt<E> consumer, BiConsumer<Long,Exception> fallbackFunction) {
+        StreamExtPipeline.run("forEachOrderedE", stream, () -> stream.forEachOrdered(fallbackLongConsumer(consumer, fallbackFunction)));
+    }
+
+    public static <E extends Exception> void forEachOrderedQuiet(LongStream stream, ThrowableLongConsumerExt<E> consumer) {
+        StreamExtPipeline.run("forEachOrderedQuiet", stream, () -> stream.forEachOrdered(quietLongConsumer(consumer)));
+    }
+
+    // ////////////////////////
+    // DoubleStream extensions
+    // ////////////////////////
+
+    /**
+     * Returns a stream consisting of the values of this stream that match
+     * the given predicate, without boxing.
+     * {@link FunctionExecutionException} is thrown when the predicate throws an exception.
+     *
+     * @param stream this stream
+     * @param predicate predicate to apply to each value to determine if it
+     *                  should be included
+     * @param <E> the type of the throwable which the predicate throws
+     * @return the new stream
+     */
+    public static <E extends Exception> DoubleStream filterE(DoubleStream stream, ThrowableDoublePredicateExt<E> predicate) {
+        return stream.filter(rethrowDoublePredicate(predicate));
+    }
+
+    public static <E extends Exception> DoubleStream filterE(DoubleStream stream, ThrowableDoublePredicateExt<E> predicate, BiPredicate<Double,Exception> fallbackFunction) {
+        return stream.filter(fallbackDoublePredicate(predicate, fallbackFunction));
+    }
+
+    public static <E extends Exception> DoubleStream filterQuiet(DoubleStream stream, ThrowableDoublePredicateExt<E> predicate) {
+        return stream.filter(quietDoublePredicate(predicate));
+    }
+
+    public static <E extends Exception> boolean allMatchE(DoubleStream stream, ThrowableDoublePredicateExt<E> predicate) {
+        return StreamExtPipeline.test("allMatchE", stream, () -> stream.allMatch(rethrowDoublePredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean allMatchE(DoubleStream stream, ThrowableDoublePredicateExt<E> predicate, BiPredicate<Double,Exception> fallbackFunction) {
+        return StreamExtPipeline.test("allMatchE", stream, () -> stream.allMatch(fallbackDoublePredicate(predicate, fallbackFunction)));
+    }
+
+    public static <E extends Exception> boolean allMatchQuiet(DoubleStream stream, ThrowableDoublePredicateExt<E> predicate) {
+        return StreamExtPipeline.test("allMatchQuiet", stream, () -> stream.allMatch(quietDoublePredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean anyMatchE(DoubleStream stream, ThrowableDoublePredicateExt<E> predicate) {
+        return StreamExtPipeline.test("anyMatchE", stream, () -> stream.anyMatch(rethrowDoublePredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean anyMatchE(DoubleStream stream, ThrowableDoublePredicateExt<E> predicate, BiPredicate<Double,Exception> fallbackFunction) {
+        return StreamExtPipeline.test("anyMatchE", stream, () -> stream.anyMatch(fallbackDoublePredicate(predicate, fallbackFunction)));
+    }
+
+    public static <E extends Exception> boolean anyMatchQuiet(DoubleStream stream, ThrowableDoublePredicateExt<E> predicate) {
+        return StreamExtPipeline.test("anyMatchQuiet", stream, () -> stream.anyMatch(quietDoublePredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean nonMatchE(DoubleStream stream, ThrowableDoublePredicateExt<E> predicate) {
+        return StreamExtPipeline.test("nonMatchE", stream, () -> stream.noneMatch(rethrowDoublePredicate(predicate)));
+    }
+
+    public static <E extends Exception> boolean nonMatchE(DoubleStream stream, ThrowableDoublePredicateExt<E> predicate, BiPredicate<Double,Exception> fallbackFunction) {
+        return StreamExtPipeline.test("nonMatchE", stream, () -> stream.noneMatch(fallbackDoublePredicate(predicate, fallbackFunction)));
+    }
+
+    public static <E extends Exception> boolean nonMatchQuiet(DoubleStream stream, ThrowableDoublePredicateExt<E> predicate) {
+        return StreamExtPipeline.test("nonMatchQuiet", stream, () -> stream.noneMatch(quietDoublePredicate(predicate)));
+    }
+
+    /**
+     * Returns a stream consisting of the results of applying the given
+     * operator to the values of this stream, without boxing.
+     * {@link FunctionExecutionException} is thrown when the mapper throws an exception.
+     *
+     * @param stream this stream
+     * @param mapper operator to apply to each value
+     * @param <E> the type of the throwable which the mapper throws
+     * @return the new stream
+     */
+    public static <E extends Exception> DoubleStream mapE(DoubleStream stream, ThrowableDoubleUnaryOperatorExt<E> mapper) {
+        return stream.map(rethrowDoubleUnaryOperator(mapper));
+    }
+
+    public static <E extends Exception> DoubleStream mapE(DoubleStream stream, ThrowableDoubleUnaryOperatorExt<E> mapper, ToDoubleBiFunction<Double, Exception> fallbackFunction) {
+        return stream.map(fallbackDoubleUnaryOperator(mapper, fallbackFunction));
+    }
+
+    public static <E extends Exception> DoubleStream mapQuiet(DoubleStream stream, ThrowableDoubleUnaryOperatorExt<E> mapper) {
+        return stream.map(quietDoubleUnaryOperator(mapper));
+    }
+
+    public static <R,E extends Exception> Stream<R> mapToObjE(DoubleStream stream, ThrowableDoubleFunctionExt<R,E> mapper) {
+        return stream.mapToObj(rethrowDouble(mapper));
+    }
+
+    public static <R,E extends Exception> Stream<R> mapToObjE(DoubleStream stream, ThrowableDoubleFunctionExt<R,E> mapper, BiFunction<Double, Exception, R> fallbackFunction) {
+        return stream.mapToObj(fallbackDouble(mapper, fallbackFunction));
+    }
+
+    public static <R,E extends Exception> Stream<R> mapToObjQuiet(DoubleStream stream, ThrowableDoubleFunctionExt<R,E> mapper) {
+        return stream.mapToObj(quietDouble(mapper));
+    }
+
+    public static <E extends Exception> void forEachE(DoubleStream stream, ThrowableDoubleConsumerExt<E> consumer) {
+        StreamExtPipeline.run("forEachE", stream, () -> stream.forEach(rethrowDoubleConsumer(consumer)));
+    }
+
+    public static <E extends Exception> void forEachE(DoubleStream stream, ThrowableDoubleConsumerExt<E> consumer, BiConsumer<Double,Exception> fallbackFunction) {
+        StreamExtPipeline.run("forEachE", stream, () -> stream.forEach(fallbackDoubleConsumer(consumer, fallbackFunction)));
+    }
+
+    public static <E extends Exception> void forEachQuiet(DoubleStream stream, ThrowableDoubleConsumerExt<E> consumer) {
+        StreamExtPipeline.run("forEachQuiet", stream, () -> stream.forEach(quietDoubleConsumer(consumer)));
+    }
+
+    public static <E extends Exception> void forEachOrderedE(DoubleStream stream, ThrowableDoubleConsumerExt<E> consumer) {
+        StreamExtPipeline.run("forEachOrderedE", stream, () -> stream.forEachOrdered(rethrowDoubleConsumer(consumer)));
+    }
+
+    public static <E extends Exception> void forEachOrderedE(DoubleStream stream, ThrowableDoubleConsumerExt<E> consumer, BiConsumer<Double,Exception> fallbackFunction) {
+        StreamExtPipeline.run("forEachOrderedE", stream, () -> stream.forEachOrdered(fallbackDoubleConsumer(consumer, fallbackFunction)));
+    }
+
+    public static <E extends Exception> void forEachOrderedQuiet(DoubleStream stream, ThrowableDoubleConsumerExt<E> consumer) {
+        StreamExtPipeline.run("forEachOrderedQuiet", stream, () -> stream.forEachOrdered(quietDoubleConsumer(consumer)));
     }
 }
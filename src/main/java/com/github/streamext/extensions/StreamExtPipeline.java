@@ -0,0 +1,102 @@
+package com.github.streamext.extensions;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+
+/**
+ * JFR event spanning a terminal operation of {@link StreamExtOps}, such as {@code forEachE} or {@code list}.
+ * Disabled by default, enable {@code com.github.streamext.Pipeline} in the recording.
+ */
+@Name("com.github.streamext.Pipeline")
+@Label("Stream Pipeline")
+@Category("StreamExt")
+@Description("A terminal operation of StreamExtOps")
+@Enabled(false)
+final class StreamExtPipeline extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Parallel")
+    boolean parallel;
+
+    @Label("Failed")
+    @Description("Whether the operation threw an exception")
+    boolean failed;
+
+    /**
+     * never committed, only asked whether enabled, so a disabled event costs a field read without an allocation
+     */
+    private static final StreamExtPipeline PROBE = new StreamExtPipeline();
+
+    /**
+     * runs the terminal operation, spanned by the event if enabled
+     */
+    static void run(String operation, BaseStream<?, ?> stream, Runnable terminal) {
+        if (!PROBE.isEnabled()) {
+            terminal.run();
+            return;
+        }
+        var event = new StreamExtPipeline();
+        event.start(operation, stream);
+        try {
+            terminal.run();
+        } catch (RuntimeException | Error e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * runs the terminal operation returning a boolean, spanned by the event if enabled
+     */
+    static boolean test(String operation, BaseStream<?, ?> stream, BooleanSupplier terminal) {
+        if (!PROBE.isEnabled()) {
+            return terminal.getAsBoolean();
+        }
+        var event = new StreamExtPipeline();
+        event.start(operation, stream);
+        try {
+            return terminal.getAsBoolean();
+        } catch (RuntimeException | Error e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * runs the terminal operation returning a result, spanned by the event if enabled
+     */
+    static <R> R call(String operation, BaseStream<?, ?> stream, Supplier<R> terminal) {
+        if (!PROBE.isEnabled()) {
+            return terminal.get();
+        }
+        var event = new StreamExtPipeline();
+        event.start(operation, stream);
+        try {
+            return terminal.get();
+        } catch (RuntimeException | Error e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private void start(String operation, BaseStream<?, ?> stream) {
+        this.operation = operation;
+        this.parallel = stream.isParallel();
+        begin();
+    }
+}
@@ -1,14 +1,66 @@
 package com.github.streamext.extensions;
 
+import com.github.streamext.BreakerPolicy;
+import com.github.streamext.CachePolicy;
+import com.github.streamext.Checkpoint;
+import com.github.streamext.CheckpointStore;
+import com.github.streamext.CircuitBreaker;
+import com.github.streamext.CircuitOpenException;
+import com.github.streamext.DeadLetterSink;
+import com.github.streamext.ExceptionPolicy;
+import com.github.streamext.ExtStream;
 import com.github.streamext.FunctionExecutionException;
+import com.github.streamext.HedgePolicy;
+import com.github.streamext.RateLimitPolicy;
+import com.github.streamext.RateLimiter;
+import com.github.streamext.Result;
+import com.github.streamext.ResultFailuresException;
+import com.github.streamext.RethrowMode;
+import com.github.streamext.StreamExt;
+import com.github.streamext.StreamExtMetrics;
+import com.github.streamext.StreamExtMetricsRegistry;
+import com.github.streamext.ThrowableConsumerExt;
+import com.github.streamext.ThrowableFunctionExt;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import lombok.experimental.ExtensionMethod;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 @ExtensionMethod(StreamExtOps.class)
 class StreamExtTest {
@@ -29,4 +81,638 @@ class StreamExtTest {
         }).isInstanceOf(FunctionExecutionException.class).cause().hasMessage("error");
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void test_mapConcurrentE() {
+        var actual = Stream.of(30, 20, 10)
+                .mapConcurrentE(2, i -> {
+                    Thread.sleep(i);
+                    return "0" + i;
+                })
+                .collect(Collectors.toList());
+        assertThat(actual).containsExactly("030", "020", "010");
+
+        var unordered = Stream.of(3, 2, 1)
+                .mapConcurrentUnorderedE(3, i -> i * 2)
+                .collect(Collectors.toList());
+        assertThat(unordered).containsExactlyInAnyOrder(6, 4, 2);
+
+        assertThatThrownBy(() -> {
+            Stream.of("one")
+                    .mapConcurrentE(1, s -> {
+                        throw new Exception("error");
+                    })
+                    .findFirst();
+        }).isInstanceOf(FunctionExecutionException.class).cause().hasMessage("error");
+    }
+
+    @Test
+    void test_rethrowMode() {
+        ThrowableFunctionExt<String, String, Exception> failing = s -> {
+            throw new Exception("error");
+        };
+        var stackless = StreamExt.rethrow(failing, RethrowMode.STACKLESS);
+        assertThatThrownBy(() -> stackless.apply("one"))
+                .isInstanceOf(FunctionExecutionException.class)
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty())
+                .cause().hasMessage("error");
+
+        var lightweight = RethrowMode.LIGHTWEIGHT.wrap(new Exception("error"));
+        lightweight.addSuppressed(new Exception("suppressed"));
+        assertThat(lightweight.getSuppressed()).isEmpty();
+        assertThat(lightweight.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void test_primitiveStreams() {
+        var sum = Stream.of("1", "2", "x")
+                .mapToLongE(Long::parseLong, (s, e) -> 0L)
+                .filterE(v -> v > 1)
+                .sum();
+        assertThat(sum).isEqualTo(2L);
+
+        var actual = IntStream.of(1, 2, 3)
+                .mapE(i -> i * 10)
+                .mapToObjE(i -> "v" + i)
+                .collect(Collectors.toList());
+        assertThat(actual).containsExactly("v10", "v20", "v30");
+
+        assertThatThrownBy(() -> {
+            LongStream.of(1L)
+                    .forEachE(v -> {
+                        throw new Exception("error");
+                    });
+        }).isInstanceOf(FunctionExecutionException.class).cause().hasMessage("error");
+    }
+
+    @Test
+    void test_mapBatchedE() {
+        var batches = new ArrayList<List<Integer>>();
+        var actual = Stream.of(1, 2, 3, 4, 5)
+                .mapBatchedE(2, Duration.ofSeconds(1), (List<Integer> batch) -> {
+                    batches.add(batch);
+                    return batch.stream().map(i -> "0" + i).collect(Collectors.toList());
+                })
+                .collect(Collectors.toList());
+        assertThat(actual).containsExactly("01", "02", "03", "04", "05");
+        assertThat(batches).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+
+        ThrowableFunctionExt<List<Integer>, List<String>, Exception> bulk = batch -> {
+            if (batch.contains(2)) {
+                throw new Exception("error");
+            }
+            return batch.stream().map(String::valueOf).collect(Collectors.toList());
+        };
+        var retried = Stream.of(1, 2, 3)
+                .mapBatchedE(3, Duration.ofSeconds(1), bulk, StreamExt.retryEach(bulk, (i, e) -> e.getMessage()))
+                .collect(Collectors.toList());
+        assertThat(retried).containsExactly("1", "error", "3");
+
+        assertThatThrownBy(() -> Stream.of(1).mapBatchedE(2, Duration.ZERO, bulk))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void test_cached() {
+        var loads = new AtomicInteger();
+        var cached = StreamExt.cached((String s) -> {
+            loads.incrementAndGet();
+            if (s.isEmpty()) {
+                throw new Exception("error");
+            }
+            return s.length();
+        }, CachePolicy.maximumSize(10).cacheFailures(Duration.ofMinutes(1)));
+
+        var failures = new ArrayList<Exception>();
+        var actual = Stream.of("a", "bb", "a", "", "bb", "")
+                .mapE(cached, (s, e) -> {
+                    failures.add(e);
+                    return -1;
+                })
+                .collect(Collectors.toList());
+        assertThat(actual).containsExactly(1, 2, 1, -1, 2, -1);
+        // the miss and the hit see the same failure
+        assertThat(failures).hasSize(2).allSatisfy(e -> assertThat(e).isExactlyInstanceOf(Exception.class).hasMessage("error"));
+        assertThat(failures.get(0)).isSameAs(failures.get(1));
+        assertThat(loads).hasValue(3);
+        assertThat(cached.stats().hitCount()).isEqualTo(3);
+        assertThat(cached.stats().missCount()).isEqualTo(3);
+        assertThat(cached.stats().loadFailureCount()).isEqualTo(1);
+
+        var rethrown = catchThrowable(() -> Stream.of("").mapE(cached).collect(Collectors.toList()));
+        // wrapped once, not twice
+        assertThat(rethrown).isInstanceOf(FunctionExecutionException.class);
+        assertThat(rethrown.getCause()).isSameAs(failures.get(0));
+    }
+
+    @Test
+    void test_mapHedgedE() {
+        var calls = new AtomicInteger();
+        var hedged = StreamExt.hedged((String s) -> {
+            if (calls.incrementAndGet() == 1) {
+                Thread.sleep(10_000);
+            }
+            return "0" + s;
+        }, HedgePolicy.after(Duration.ofMillis(10), 2));
+
+        var actual = Stream.of("1")
+                .mapE(hedged)
+                .collect(Collectors.toList());
+        assertThat(actual).containsExactly("01");
+        assertThat(hedged.hedgesIssued()).isEqualTo(1);
+        assertThat(hedged.hedgesWon()).isEqualTo(1);
+
+        var fallback = Stream.of("1")
+                .mapHedgedE(s -> {
+                    throw new Exception("error");
+                }, Duration.ofMillis(10), 2, (s, e) -> e.getMessage())
+                .collect(Collectors.toList());
+        assertThat(fallback).containsExactly("error");
+
+        var shared = new Exception("shared");
+        var sameInstance = Stream.of("1")
+                .mapHedgedE(s -> {
+                    Thread.sleep(50);
+                    throw shared;
+                }, Duration.ofMillis(10), 2, (s, e) -> e)
+                .collect(Collectors.toList());
+        assertThat(sameInstance).singleElement().isSameAs(shared);
+        assertThat(shared.getSuppressed()).isEmpty();
+    }
+
+    @Test
+    void test_mapE_timeout() {
+        var actual = Stream.of(0L, 10_000L)
+                .mapE(millis -> {
+                    Thread.sleep(millis);
+                    return "done";
+                }, Duration.ofMillis(50), (millis, e) -> e.getClass().getSimpleName())
+                .collect(Collectors.toList());
+        assertThat(actual).containsExactly("done", "TimeoutException");
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+
+        long start = System.nanoTime();
+        var ignoringInterrupt = Stream.of(500L)
+                .mapE(millis -> {
+                    long end = System.nanoTime() + Duration.ofMillis(millis).toNanos();
+                    while (System.nanoTime() - end < 0) {
+                        LockSupport.parkNanos(end - System.nanoTime());
+                    }
+                    return "done";
+                }, Duration.ofMillis(50), (millis, e) -> e.getClass().getSimpleName())
+                .collect(Collectors.toList());
+        assertThat(ignoringInterrupt).containsExactly("TimeoutException");
+        assertThat(System.nanoTime() - start).isLessThan(Duration.ofMillis(500).toNanos());
+
+        assertThatThrownBy(() -> {
+            Stream.of(10_000L)
+                    .forEachE(millis -> Thread.sleep(millis), Instant.now().plusMillis(50));
+        }).isInstanceOf(FunctionExecutionException.class).cause().isInstanceOf(TimeoutException.class);
+
+        // the interruption of the caller is kept after the fallback
+        var caller = Thread.currentThread();
+        var interrupter = Thread.ofVirtual().start(() -> {
+            LockSupport.parkNanos(Duration.ofMillis(50).toNanos());
+            caller.interrupt();
+        });
+        try {
+            var interrupted = Stream.of(10_000L)
+                    .mapE(millis -> {
+                        Thread.sleep(millis);
+                        return "done";
+                    }, Duration.ofSeconds(5), (millis, e) -> e.getClass().getSimpleName())
+                    .collect(Collectors.toList());
+            assertThat(interrupted).containsExactly("InterruptedException");
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void test_named() {
+        var registry = new StreamExtMetricsRegistry();
+        var actual = Stream.of("1", "a", "2")
+                .mapQuiet(StreamExt.named("parse", registry, (String s) -> Integer.valueOf(s)))
+                .collect(Collectors.toList());
+        assertThat(actual).containsExactly(1, null, 2);
+
+        var metrics = registry.get("parse");
+        assertThat(metrics.invocationCount()).isEqualTo(3);
+        assertThat(metrics.failureCount()).isEqualTo(1);
+        assertThat(metrics.failureCounts()).containsEntry(NumberFormatException.class, 1L);
+        assertThat(metrics.latency().count()).isEqualTo(3);
+
+        ThrowableFunctionExt<String, Integer, Exception> parse = Integer::valueOf;
+        assertThat(StreamExt.named("parse", StreamExtMetrics.noop(), parse).apply("3")).isEqualTo(3);
+    }
+
+    @Test
+    void test_jfrEvents(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("recording.jfr");
+        try (var recording = new Recording()) {
+            recording.enable("com.github.streamext.ElementFailed");
+            recording.enable("com.github.streamext.SlowElement").withThreshold(Duration.ofMillis(20));
+            recording.enable("com.github.streamext.Pipeline");
+            recording.start();
+
+            ThrowableConsumerExt<String, Exception> consumer = s -> {
+                if (s.equals("slow")) {
+                    Thread.sleep(50);
+                } else if (s.equals("error")) {
+                    throw new Exception("error");
+                }
+            };
+            Stream.of("ok", "slow", "error").forEachQuiet(StreamExt.named("worker", consumer));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        var events = RecordingFile.readAllEvents(file);
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("com.github.streamext.ElementFailed"))
+                .singleElement()
+                .satisfies(e -> assertThat(e.getString("wrapperName")).isEqualTo("worker"))
+                .satisfies(e -> assertThat(e.getString("message")).isEqualTo("error"));
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("com.github.streamext.SlowElement"))
+                .singleElement()
+                .satisfies(e -> assertThat(e.getString("wrapperName")).isEqualTo("worker"));
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("com.github.streamext.Pipeline"))
+                .extracting(e -> e.getString("operation"))
+                .containsExactly("forEachQuiet");
+    }
+
+    @Test
+    void test_circuitBreaker() {
+        var calls = new AtomicInteger();
+        var breaker = CircuitBreaker.of("service", BreakerPolicy.failureRateAbove(50, 4).openFor(Duration.ofMinutes(1)));
+        ThrowableFunctionExt<Integer, String, Exception> down = i -> {
+            calls.incrementAndGet();
+            throw new Exception("down");
+        };
+        var actual = IntStream.range(0, 10).boxed()
+                .mapE(StreamExt.circuitBreaker(down, breaker), (i, e) -> e instanceof CircuitOpenException ? "open" : "error")
+                .collect(Collectors.toList());
+        assertThat(actual).containsExactly("error", "error", "error", "error", "open", "open", "open", "open", "open", "open");
+        assertThat(calls).hasValue(4);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        breaker.reset();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void test_mapE_exceptionPolicy() {
+        var policy = ExceptionPolicy.builder()
+                .retry(IOException.class, 3, Duration.ofMillis(1))
+                .skip(ParseException.class)
+                .build();
+        var calls = new AtomicInteger();
+        var actual = Stream.of("a", "flaky", "unparsable", "b")
+                .mapE(s -> {
+                    if (s.equals("flaky") && calls.incrementAndGet() < 3) {
+                        throw new IOException("flaky");
+                    }
+                    if (s.equals("unparsable")) {
+                        throw new ParseException(s, 0);
+                    }
+                    return s.toUpperCase();
+                }, policy)
+                .collect(Collectors.toList());
+        assertThat(actual).containsExactly("A", "FLAKY", "B");
+        assertThat(policy.stats().retryCount()).isEqualTo(2);
+        assertThat(policy.stats().recoveredCount()).isEqualTo(1);
+        assertThat(policy.stats().skipCount()).isEqualTo(1);
+
+        assertThatThrownBy(() -> {
+            Stream.of("a")
+                    .mapE(s -> {
+                        if (s.equals("a")) {
+                            throw new IllegalStateException("error");
+                        }
+                        return s;
+                    }, policy)
+                    .collect(Collectors.toList());
+        }).isInstanceOf(FunctionExecutionException.class).cause().isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void test_forEachFailFastE() {
+        var calls = new AtomicInteger();
+        assertThatThrownBy(() -> {
+            IntStream.range(0, 1000).boxed().parallel()
+                    .forEachFailFastE(i -> {
+                        calls.incrementAndGet();
+                        Thread.sleep(1);
+                        if (i % 100 == 0) {
+                            throw new Exception("error");
+                        }
+                    });
+        }).isInstanceOf(FunctionExecutionException.class).hasMessageContaining("error");
+        ForkJoinPool.commonPool().awaitQuiescence(10, TimeUnit.SECONDS);
+        assertThat(calls.get()).isLessThan(1000);
+
+        var actual = Stream.of(1, 2, 3).parallel()
+                .mapFailFastE(i -> i * 2)
+                .collect(Collectors.toList());
+        assertThat(actual).containsExactly(2, 4, 6);
+    }
+
+    @Test
+    void test_forEachE_pool() {
+        var pool = new ForkJoinPool(2);
+        try {
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            IntStream.range(0, 100).boxed()
+                    .forEachE(StreamExt.blocking((Integer i) -> {
+                        threads.add(Thread.currentThread().getName());
+                        Thread.sleep(1);
+                    }), pool);
+            assertThat(threads).allMatch(name -> name.startsWith("ForkJoinPool-"))
+                    .noneMatch(name -> name.startsWith("ForkJoinPool.commonPool"));
+
+            var actual = Stream.of(3, 1, 2).map(i -> i * 10).list(pool);
+            assertThat(actual).containsExactly(30, 10, 20);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThatThrownBy(() -> {
+            Stream.of(1, 2, 3)
+                    .forEachE(i -> {
+                        if (i == 2) {
+                            throw new Exception("error");
+                        }
+                    }, 2);
+        }).isInstanceOf(FunctionExecutionException.class).hasMessageContaining("error");
+    }
+
+    @Test
+    void test_mapTry() throws Exception {
+        Result.Partition<String, Integer> partition = Stream.of("1", "a", "2", "b")
+                .mapTry(s -> Integer.valueOf(s))
+                .collect(StreamExtOps.partitionResults());
+        assertThat(partition.successes()).containsExactly(1, 2);
+        assertThat(partition.failures()).extracting(Result.Failure::element).containsExactly("a", "b");
+        assertThat(partition.failures()).extracting(Result.Failure::exception).hasOnlyElementsOfType(NumberFormatException.class);
+
+        List<Integer> concurrent = IntStream.range(0, 1000).boxed().parallel()
+                .mapTry(i -> i * 2)
+                .collect(StreamExtOps.toListOrFailuresConcurrent());
+        assertThat(concurrent).hasSize(1000);
+
+        assertThatThrownBy(() -> {
+            Stream.of("1", "a", "2", "b")
+                    .mapTry(s -> Integer.valueOf(s))
+                    .collect(StreamExtOps.toListOrFailures());
+        }).isInstanceOfSatisfying(ResultFailuresException.class, e -> assertThat(e.getFailures()).hasSize(2));
+
+        var failures = (ResultFailuresException) catchThrowable(() -> Stream.of("a", "b")
+                .mapTry(s -> Integer.valueOf(s))
+                .collect(StreamExtOps.toListOrFailures()));
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(failures);
+        }
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            var deserialized = (ResultFailuresException) in.readObject();
+            assertThat(deserialized.getFailures()).isEmpty();
+            assertThat(deserialized).hasMessage(failures.getMessage());
+        }
+    }
+
+    @Test
+    void test_mapQuiet_deadLetters(@TempDir Path dir) throws Exception {
+        Path spillFile = dir.resolve("dead-letters.bin");
+        try (var deadLetters = DeadLetterSink.of(2, spillFile, DeadLetterSink.Serializer.<String>java())) {
+            var actual = Stream.of("1", "a", "2", "b", "c", "d")
+                    .mapQuiet(s -> Integer.valueOf(s), deadLetters)
+                    .collect(Collectors.toList());
+            assertThat(actual).containsExactly(1, 2);
+            assertThat(deadLetters.size()).isEqualTo(4);
+            assertThat(deadLetters.spilledCount()).isEqualTo(2);
+            try (var replayed = deadLetters.replay()) {
+                assertThat(replayed).containsExactly("a", "b", "c", "d");
+            }
+            deadLetters.close();
+            assertThatThrownBy(() -> deadLetters.add("e")).isInstanceOf(IllegalStateException.class);
+            try (var replayed = deadLetters.replay()) {
+                assertThat(replayed).containsExactly("a", "b", "c", "d");
+            }
+        }
+        try (var replayed = DeadLetterSink.replay(spillFile, DeadLetterSink.Serializer.<String>java())) {
+            assertThat(replayed).containsExactly("c", "d");
+        }
+    }
+
+    @Test
+    void test_forEachCheckpointedE(@TempDir Path dir) throws Exception {
+        var store = CheckpointStore.file(dir.resolve("job.ckpt"));
+        var processed = ConcurrentHashMap.<Integer>newKeySet();
+        assertThatThrownBy(() -> {
+            IntStream.range(0, 10_000).boxed().collect(Collectors.toList()).parallelStream()
+                    .forEachCheckpointedE(i -> {
+                        if (i == 5_000) {
+                            throw new Exception("error");
+                        }
+                        processed.add(i);
+                    }, store);
+        }).isInstanceOf(FunctionExecutionException.class).hasMessageContaining("error");
+        assertThat(store.load().completedCount()).isEqualTo(processed.size());
+
+        var resumed = new ArrayList<Integer>();
+        IntStream.range(0, 10_000).boxed().collect(Collectors.toList()).stream()
+                .forEachCheckpointedE(i -> resumed.add(i), store);
+        assertThat(resumed).doesNotContainAnyElementsOf(processed).contains(5_000);
+        assertThat(processed.size() + resumed.size()).isEqualTo(10_000);
+        assertThat(store.load().completedCount()).isZero();
+
+        // a failed save stops the stream, instead of going on without the progress being saved
+        var saves = new AtomicInteger();
+        var failing = new CheckpointStore() {
+            @Override
+            public Checkpoint load() throws IOException {
+                return store.load();
+            }
+
+            @Override
+            public void save(Checkpoint checkpoint) throws IOException {
+                if (saves.incrementAndGet() == 1) {
+                    throw new IOException("disk full");
+                }
+                store.save(checkpoint);
+            }
+
+            @Override
+            public void clear() throws IOException {
+                store.clear();
+            }
+        };
+        var stopped = new ArrayList<Integer>();
+        assertThatThrownBy(() -> {
+            IntStream.range(0, 10_000).boxed()
+                    .forEachCheckpointedE(i -> {
+                        Thread.sleep(1);
+                        stopped.add(i);
+                    }, failing, Duration.ofMillis(10));
+        }).isInstanceOf(UncheckedIOException.class).hasRootCauseMessage("disk full");
+        assertThat(stopped).hasSizeLessThan(10_000);
+        assertThat(store.load().completedCount()).isEqualTo(stopped.size());
+    }
+
+    @Test
+    void test_extStream() {
+        var peeked = new ArrayList<Integer>();
+        var actual = ExtStream.of(Stream.of("1", "a", "2", "3", "4"))
+                .mapE(s -> Integer.valueOf(s), (s, e) -> -1)
+                .filterE(i -> i % 2 == 0 || i < 0)
+                .peekE(i -> {
+                    if (i == 4) {
+                        throw new Exception("error");
+                    }
+                    peeked.add(i);
+                }, (i, e) -> peeked.add(0))
+                .map(i -> i * 10)
+                .mapQuiet(i -> 100 / (i - 20))
+                .collect(Collectors.toList());
+        assertThat(actual).containsExactly(-3, null, 5);
+        assertThat(peeked).containsExactly(-1, 2, 0);
+
+        assertThatThrownBy(() -> {
+            ExtStream.of(Stream.of("1", "a"))
+                    .mapE(s -> Integer.valueOf(s))
+                    .forEach(i -> {});
+        }).isInstanceOf(FunctionExecutionException.class).hasCauseInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void test_linesE(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("lines.txt");
+        Files.writeString(file, "1\r\n2\nx\n\u00e9\n3", StandardCharsets.UTF_8);
+        try (var lines = StreamExtOps.linesE(file, StandardCharsets.UTF_8, line -> Integer.parseInt(line.toString()), (line, e) -> -1)) {
+            assertThat(lines.parallel().collect(Collectors.toList())).containsExactly(1, 2, -1, -1, 3);
+        }
+        try (var lines = StreamExtOps.linesQuiet(file, StandardCharsets.UTF_8, line -> Integer.parseInt(line.toString()))) {
+            assertThat(lines.collect(Collectors.toList())).containsExactly(1, 2, null, null, 3);
+        }
+
+        assertThatThrownBy(() -> {
+            StreamExtOps.linesE(file, StandardCharsets.UTF_8, line -> Integer.parseInt(line.toString())).collect(Collectors.toList());
+        }).isInstanceOf(FunctionExecutionException.class).hasCauseInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> {
+            StreamExtOps.linesE(dir.resolve("missing.txt"), StandardCharsets.UTF_8, line -> line);
+        }).isInstanceOf(FunctionExecutionException.class).hasCauseInstanceOf(IOException.class);
+        assertThatThrownBy(() -> {
+            StreamExtOps.linesQuiet(dir.resolve("missing.txt"), StandardCharsets.UTF_8, line -> line);
+        }).isInstanceOf(FunctionExecutionException.class).hasCauseInstanceOf(IOException.class);
+
+        // the charsets read by a reader
+        Path utf16 = dir.resolve("lines-utf16.txt");
+        Files.writeString(utf16, "1\r\n2\nx", StandardCharsets.UTF_16);
+        try (var lines = StreamExtOps.linesQuiet(utf16, StandardCharsets.UTF_16, line -> Integer.parseInt(line.toString()))) {
+            assertThat(lines.collect(Collectors.toList())).containsExactly(1, 2, null);
+        }
+        Files.write(utf16, new byte[] {(byte) 0xFE, (byte) 0xFF, 0, '1', 0, '\n', (byte) 0xD8, 0, 0, '2'});
+        assertThatThrownBy(() -> {
+            try (var lines = StreamExtOps.linesQuiet(utf16, StandardCharsets.UTF_16, line -> Integer.parseInt(line.toString()))) {
+                lines.collect(Collectors.toList());
+            }
+        }).isInstanceOf(FunctionExecutionException.class).hasCauseInstanceOf(MalformedInputException.class);
+    }
+
+    @Test
+    void test_groupingByE() {
+        var failed = new ArrayList<String>();
+        Map<Integer, List<String>> groups = Stream.of("1", "2", "a", "3", "4")
+                .collect(StreamExtOps.groupingByE(s -> Integer.parseInt(s) % 2, (s, e) -> failed.add(s)));
+        assertThat(groups).containsOnlyKeys(0, 1);
+        assertThat(groups.get(1)).containsExactly("1", "3");
+        assertThat(failed).containsExactly("a");
+
+        Map<Integer, Long> counts = IntStream.range(0, 10_000).boxed().parallel()
+                .collect(StreamExtOps.groupingByConcurrentE(i -> i % 10, Collectors.counting()));
+        assertThat(counts).hasSize(10).allSatisfy((key, count) -> assertThat(count).isEqualTo(1_000L));
+
+        Map<String, Integer> map = Stream.of("1", "a", "2")
+                .collect(StreamExtOps.toMapQuiet(s -> s, s -> Integer.parseInt(s)));
+        assertThat(map).containsOnlyKeys("1", "2");
+
+        int sum = Stream.of("1", "a", "2")
+                .collect(StreamExtOps.reducingQuiet(0, s -> Integer.parseInt(s), Integer::sum));
+        assertThat(sum).isEqualTo(3);
+
+        assertThatThrownBy(() -> {
+            Stream.of("1", "a")
+                    .collect(StreamExtOps.toMapE(s -> s, s -> Integer.parseInt(s)));
+        }).isInstanceOf(FunctionExecutionException.class).hasCauseInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void test_mapAsyncE() throws Exception {
+        class Collecting<T> implements Flow.Subscriber<T> {
+            final List<T> items = new ArrayList<>();
+            final CompletableFuture<List<T>> done = new CompletableFuture<>();
+            Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(T item) {
+                items.add(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(items);
+            }
+        }
+
+        var results = new Collecting<Integer>();
+        Stream.of("1", "a", "3")
+                .mapAsyncE(s -> CompletableFuture.supplyAsync(() -> Integer.valueOf(s)), 2, (s, e) -> -1)
+                .subscribe(results);
+        assertThat(results.done.get(5, TimeUnit.SECONDS)).containsExactly(1, -1, 3);
+
+        var elements = new Collecting<Integer>();
+        Stream.of("1", "a")
+                .mapE(s -> Integer.valueOf(s))
+                .toPublisher(ForkJoinPool.commonPool())
+                .subscribe(elements);
+        assertThatThrownBy(() -> elements.done.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(NumberFormatException.class);
+        assertThat(elements.items).containsExactly(1);
+    }
+
+    @Test
+    void test_mapRateLimitedE() {
+        long start = System.nanoTime();
+        var actual = IntStream.range(0, 11).boxed()
+                .mapRateLimitedE(i -> i * 2, 100, 1)
+                .collect(Collectors.toList());
+        assertThat(actual).hasSize(11);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(100).toNanos());
+
+        var limiter = RateLimiter.of(RateLimitPolicy.perSecond(1000).burst(10).adaptiveOn(TimeoutException.class));
+        ThrowableFunctionExt<Integer, Integer, TimeoutException> quota = i -> {
+            if (i == 0) {
+                throw new TimeoutException("throttled");
+            }
+            return i;
+        };
+        var results = IntStream.range(0, 3).boxed()
+                .mapRateLimitedE(quota, limiter, (i, e) -> -1)
+                .collect(Collectors.toList());
+        assertThat(results).containsExactly(-1, 1, 2);
+        assertThat(limiter.currentRate()).isLessThan(1000);
+    }
+}